@@ -0,0 +1,64 @@
+package com.jquestrade_room;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZonedDateTime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+/** Stores objects in an in-memory {@link QuestradeDatabase} and reads them back, through the code generated by room-compiler. */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class QuestradeDatabaseTest {
+	
+	private QuestradeDatabase database;
+	
+	@Before
+	public void openDatabase() {
+		database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), QuestradeDatabase.class)
+				.allowMainThreadQueries()
+				.build();
+	}
+	
+	@After
+	public void closeDatabase() {
+		database.close();
+	}
+	
+	@Test
+	public void balancesOfAccountsFetchedAtTheSameTimeAreKept() {
+		ZonedDateTime time = ZonedDateTime.now();
+		Balance[] cad = { new Balance("CAD", 100, 200, 300, 400, 500, true) };
+		Balances first = new Balances(time, cad, cad, cad, cad);
+		first.setAccountNumber("1");
+		Balances second = new Balances(time, cad, cad, cad, cad);
+		second.setAccountNumber("2");
+		database.balancesDao().insert(first, second);
+		
+		assertEquals(2, database.balancesDao().getAll().size());
+		Balances stored = database.balancesDao().getByAccount("2").get(0);
+		assertEquals(time.toInstant().toEpochMilli(), stored.timeOfCreation().toInstant().toEpochMilli());
+		assertEquals(300, stored.getCombinedBalances(Balances.Currency.CAD).getTotalEquity(), 0);
+	}
+	
+	@Test
+	public void positionsOfTheSameSymbolInSeveralAccountsAreKept() {
+		ZonedDateTime time = ZonedDateTime.now();
+		Position first = new Position("AAPL", 8049, 10, 0, 1500, 150, 140, 5, 0, 100, 1400, true, false, time);
+		first.setAccountNumber("1");
+		Position second = new Position("AAPL", 8049, 20, 0, 3000, 150, 140, 10, 0, 200, 2800, true, false, time);
+		second.setAccountNumber("2");
+		database.positionDao().insert(first, second);
+		
+		assertEquals(2, database.positionDao().getBySymbol("AAPL").size());
+		assertEquals(20, database.positionDao().getByAccount("2").get(0).getOpenQuantity());
+	}
+}
@@ -0,0 +1,120 @@
+package com.jquestrade_room;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/** Compares creating a new reflective {@code Gson} per response (how every endpoint used to parse responses)
+ * against the shared {@link Json#GSON} with hand-written type adapters.<br><br>
+ * Run with {@code gradle jmh -PjmhArgs="GsonBenchmark -prof gc"} to also see the allocation rate per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GsonBenchmark {
+
+	/** Response wrappers, the same shape as the ones in {@link Questrade}. */
+	static class Quotes { Quote[] quotes; }
+	static class Candles { Candle[] candles; }
+	static class Positions { Position[] positions; }
+	static class Orders { Order[] orders; }
+	static class SymbolInfos { SymbolInfo[] symbols; }
+
+	private String quotesJSON;
+	private String candlesJSON;
+	private String positionsJSON;
+	private String ordersJSON;
+	private String balancesJSON;
+	private String symbolInfosJSON;
+
+	@Setup
+	public void setup() {
+		quotesJSON = Payloads.quotes(100);
+		candlesJSON = Payloads.candles(2000);
+		positionsJSON = Payloads.positions(50);
+		ordersJSON = Payloads.orders(50);
+		balancesJSON = Payloads.balances();
+		symbolInfosJSON = Payloads.symbolInfos(50);
+	}
+
+	/** A new reflective {@code Gson}. The {@code ZonedDateTime} adapter is only registered so newer JVMs don't refuse to reflect into it. */
+	private static Gson newReflectiveGson() {
+		return new GsonBuilder().registerTypeAdapter(ZonedDateTime.class, new Json.ZonedDateTimeTypeAdapter()).create();
+	}
+
+	@Benchmark
+	public Quotes quotesNewGson() {
+		return newReflectiveGson().fromJson(quotesJSON, Quotes.class);
+	}
+
+	@Benchmark
+	public Quotes quotesSharedGson() {
+		return Json.GSON.fromJson(quotesJSON, Quotes.class);
+	}
+
+	@Benchmark
+	public Candles candlesNewGson() {
+		return newReflectiveGson().fromJson(candlesJSON, Candles.class);
+	}
+
+	@Benchmark
+	public Candles candlesSharedGson() {
+		return Json.GSON.fromJson(candlesJSON, Candles.class);
+	}
+
+	@Benchmark
+	public Positions positionsNewGson() {
+		return newReflectiveGson().fromJson(positionsJSON, Positions.class);
+	}
+
+	@Benchmark
+	public Positions positionsSharedGson() {
+		return Json.GSON.fromJson(positionsJSON, Positions.class);
+	}
+
+	@Benchmark
+	public Orders ordersNewGson() {
+		return newReflectiveGson().fromJson(ordersJSON, Orders.class);
+	}
+
+	@Benchmark
+	public Orders ordersSharedGson() {
+		return Json.GSON.fromJson(ordersJSON, Orders.class);
+	}
+
+	@Benchmark
+	public Balances balancesNewGson() {
+		return newReflectiveGson().fromJson(balancesJSON, Balances.class);
+	}
+
+	@Benchmark
+	public Balances balancesSharedGson() {
+		return Json.GSON.fromJson(balancesJSON, Balances.class);
+	}
+
+	@Benchmark
+	public SymbolInfos symbolInfosNewGson() {
+		return newReflectiveGson().fromJson(symbolInfosJSON, SymbolInfos.class);
+	}
+
+	@Benchmark
+	public SymbolInfos symbolInfosSharedGson() {
+		return Json.GSON.fromJson(symbolInfosJSON, SymbolInfos.class);
+	}
+}
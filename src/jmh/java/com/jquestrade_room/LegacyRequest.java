@@ -0,0 +1,50 @@
+package com.jquestrade_room;
+
+/** The URL building of {@link Request} before it appended into a buffer: every value is concatenated onto the path with {@code +=},
+ * copying the whole path each time, and values aren't encoded. Kept only as a baseline for {@link RequestBenchmark}.
+ */
+class LegacyRequest {
+
+	private int parameterCount = 0;
+
+	private String path;
+
+	private String apiServer;
+
+	LegacyRequest(String path) {
+		this.path = path;
+	}
+
+	void setApiServer(String apiServer) {
+		this.apiServer = apiServer;
+	}
+
+	void addParameter(String key, String[] values) {
+		path += ((parameterCount == 0) ? "?" : "&")
+			+ key + "=" + values[0];
+
+		for(int i = 1; i < values.length; i++) {
+			path += "," + values[i];
+		}
+
+		parameterCount++;
+	}
+
+	void addParameter(String key, int[] values) {
+		path += ((parameterCount == 0) ? "?" : "&")
+			+ key + "=" + values[0];
+
+		for(int i = 1; i < values.length; i++) {
+			path += "," + values[i];
+		}
+
+		parameterCount++;
+	}
+
+	String getUrl() {
+		if(apiServer != null) {
+			return apiServer + path;
+		}
+		return path;
+	}
+}
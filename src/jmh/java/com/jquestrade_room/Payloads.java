@@ -0,0 +1,147 @@
+package com.jquestrade_room;
+
+/** Generates representative Questrade API response bodies for the benchmarks. */
+final class Payloads {
+
+	private Payloads() {}
+
+	/** Returns a <b>GET markets/quotes</b> response with the given number of quotes. */
+	static String quotes(int count) {
+		return quotes(ids(count));
+	}
+
+	/** Returns a <b>GET markets/quotes</b> response with a quote for each of the given symbol IDs. */
+	static String quotes(int[] symbolIds) {
+		StringBuilder json = new StringBuilder("{\"quotes\":[");
+		for(int i = 0; i < symbolIds.length; i++) {
+			if(i > 0) {
+				json.append(',');
+			}
+			json.append("{\"symbol\":\"").append(symbol(symbolIds[i])).append("\",\"symbolId\":").append(symbolIds[i])
+				.append(",\"tier\":\"\",\"bidPrice\":83.65,\"bidSize\":6500,\"askPrice\":83.67,\"askSize\":9100,")
+				.append("\"lastTradePriceTrHrs\":83.66,\"lastTradePrice\":83.66,\"lastTradeSize\":3100,\"lastTradeTick\":\"Equal\",")
+				.append("\"lastTradeTime\":\"2014-10-24T20:06:40.131000-04:00\",\"volume\":80483500,\"openPrice\":83.66,")
+				.append("\"highPrice\":83.86,\"lowPrice\":83.66,\"delay\":0,\"isHalted\":false,\"high52w\":90.12,\"low52w\":70.5,\"VWAP\":83.71}");
+		}
+		return json.append("]}").toString();
+	}
+
+	/** Returns a <b>GET markets/candles</b> response with the given number of one-minute candles. */
+	static String candles(int count) {
+		StringBuilder json = new StringBuilder("{\"candles\":[");
+		for(int i = 0; i < count; i++) {
+			if(i > 0) {
+				json.append(',');
+			}
+			int hour = 9 + (i / 60) % 8;
+			int minute = i % 60;
+			String time = String.format("2014-10-01T%02d:%02d:00.000000-04:00", hour, minute);
+			json.append("{\"start\":\"").append(time).append("\",\"end\":\"").append(time)
+				.append("\",\"low\":1.0").append(i % 10).append(",\"high\":1.1").append(i % 10)
+				.append(",\"open\":1.05,\"close\":1.07,\"volume\":").append(1000 + i).append(",\"VWAP\":1.0625}");
+		}
+		return json.append("]}").toString();
+	}
+
+	/** Returns a <b>GET accounts/:id/positions</b> response with the given number of positions. */
+	static String positions(int count) {
+		StringBuilder json = new StringBuilder("{\"positions\":[");
+		for(int i = 0; i < count; i++) {
+			if(i > 0) {
+				json.append(',');
+			}
+			json.append("{\"symbol\":\"SYM").append(i).append("\",\"symbolId\":").append(10000 + i)
+				.append(",\"openQuantity\":100,\"closedQuantity\":0,\"currentMarketValue\":6017,\"currentPrice\":60.17,")
+				.append("\"averageEntryPrice\":60.23,\"dayPnl\":0,\"closedPnl\":0,\"openPnl\":-6,\"totalCost\":6023,")
+				.append("\"isRealTime\":true,\"isUnderReorg\":false}");
+		}
+		return json.append("]}").toString();
+	}
+
+	/** Returns a <b>GET accounts/:id/orders</b> response with the given number of orders. */
+	static String orders(int count) {
+		StringBuilder json = new StringBuilder("{\"orders\":[");
+		for(int i = 0; i < count; i++) {
+			if(i > 0) {
+				json.append(',');
+			}
+			json.append("{\"id\":").append(173577870 + i).append(",\"symbol\":\"AAPL\",\"symbolId\":8049,\"totalQuantity\":100,")
+				.append("\"openQuantity\":100,\"filledQuantity\":0,\"canceledQuantity\":0,\"side\":\"Buy\",\"orderType\":\"Limit\",")
+				.append("\"limitPrice\":500.95,\"stopPrice\":null,\"isAllOrNone\":false,\"isAnonymous\":false,\"icebergQuantity\":null,")
+				.append("\"minQuantity\":null,\"avgExecPrice\":null,\"lastExecPrice\":null,\"source\":\"TradingAPI\",")
+				.append("\"timeInForce\":\"Day\",\"gtdDate\":null,\"state\":\"Canceled\",\"rejectionReason\":\"\",")
+				.append("\"chainId\":").append(177106005 + i).append(",\"creationTime\":\"2014-10-23T20:03:41.636000-04:00\",")
+				.append("\"updateTime\":\"2014-10-23T20:03:42.890000-04:00\",\"notes\":\"\",\"primaryRoute\":\"AUTO\",")
+				.append("\"secondaryRoute\":\"\",\"orderRoute\":\"LAMP\",\"venueHoldingOrder\":\"\",\"comissionCharged\":0,")
+				.append("\"exchangeOrderId\":\"XS1771060050147\",\"isSignificantShareHolder\":false,\"isInsider\":false,")
+				.append("\"isLimitOffsetInDollar\":false,\"userId\":3000124,\"placementCommission\":null,\"legs\":[],")
+				.append("\"strategyType\":\"SingleLeg\",\"triggerStopPrice\":null,\"orderGroupId\":0,\"orderClass\":null,")
+				.append("\"isCrossZero\":false}");
+		}
+		return json.append("]}").toString();
+	}
+
+	/** Returns a <b>GET symbols/:id</b> response with the given number of symbols. */
+	static String symbolInfos(int count) {
+		return symbolInfos(ids(count));
+	}
+
+	/** Returns a <b>GET symbols/:id</b> response with a symbol for each of the given symbol IDs. */
+	static String symbolInfos(int[] symbolIds) {
+		StringBuilder json = new StringBuilder("{\"symbols\":[");
+		for(int i = 0; i < symbolIds.length; i++) {
+			if(i > 0) {
+				json.append(',');
+			}
+			json.append("{\"symbol\":\"").append(symbol(symbolIds[i])).append("\",\"symbolId\":").append(symbolIds[i])
+				.append(",\"prevDayClosePrice\":102.5,\"highPrice52\":102.9,\"lowPrice52\":63.89,\"averageVol3Months\":43769680,")
+				.append("\"averageVol20Days\":12860370,\"outstandingShares\":5987867000,\"eps\":6.2,\"pe\":16.54,\"dividend\":0.47,")
+				.append("\"yield\":1.84,\"exDate\":\"2014-08-07T00:00:00.000000-04:00\",\"marketCap\":613756367500,\"tradeUnit\":1,")
+				.append("\"optionType\":null,\"optionDurationType\":null,\"optionRoot\":\"\",\"optionContractDeliverables\":")
+				.append("{\"underlyings\":[],\"cashInLieu\":0},\"optionExerciseType\":null,\"listingExchange\":\"NASDAQ\",")
+				.append("\"description\":\"APPLE INC\",\"securityType\":\"Stock\",\"optionExpiryDate\":null,")
+				.append("\"dividendDate\":\"2014-08-14T00:00:00.000000-04:00\",\"optionStrikePrice\":null,\"isTradable\":true,")
+				.append("\"isQuotable\":true,\"hasOptions\":true,\"currency\":\"USD\",\"minTicks\":[{\"pivot\":0,\"minTick\":0.0001},")
+				.append("{\"pivot\":1,\"minTick\":0.01}],\"industrySector\":\"BasicMaterials\",\"industryGroup\":\"Steel\",")
+				.append("\"industrySubgroup\":\"Steel\"}");
+		}
+		return json.append("]}").toString();
+	}
+
+	/** Returns a <b>GET accounts/:id/balances</b> response. */
+	static String balances() {
+		String cad = "{\"currency\":\"CAD\",\"cash\":243971.7,\"marketValue\":6017,\"totalEquity\":249988.7,"
+				+ "\"buyingPower\":496367.2,\"maintenanceExcess\":248183.6,\"isRealTime\":false}";
+		String usd = "{\"currency\":\"USD\",\"cash\":198259.05,\"marketValue\":53745,\"totalEquity\":252004.05,"
+				+ "\"buyingPower\":461013.3,\"maintenanceExcess\":230506.65,\"isRealTime\":false}";
+		String balances = "[" + cad + "," + usd + "]";
+		return "{\"perCurrencyBalances\":" + balances + ",\"combinedBalances\":" + balances
+				+ ",\"sodPerCurrencyBalances\":" + balances + ",\"sodCombinedBalances\":" + balances + "}";
+	}
+
+	/** Returns the generated symbol name of the given symbol ID. See {@link #symbolId(String)}. */
+	static String symbol(int symbolId) {
+		return "SYM" + symbolId;
+	}
+
+	/** Returns the symbol ID of the given generated symbol name, or a stable made-up ID for any other name. */
+	static int symbolId(String symbol) {
+		if(symbol.startsWith("SYM")) {
+			try {
+				return Integer.parseInt(symbol.substring(3));
+			} catch (NumberFormatException e) {
+				// Not a generated name
+			}
+		}
+		return 1 + Math.abs(symbol.hashCode() % 1000000);
+	}
+
+	/** Returns the symbol IDs 10000, 10001, etc. */
+	private static int[] ids(int count) {
+		int[] ids = new int[count];
+		for(int i = 0; i < count; i++) {
+			ids[i] = 10000 + i;
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,496 @@
+package com.jquestrade_room;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jquestrade_room.Candle.Interval;
+import com.jquestrade_room.RateLimiter.Category;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/** An in-process HTTP server that imitates the Questrade login and API servers, for load and latency tests that can't run
+ * against the real API. It serves the OAuth token endpoint and the {@code v1/time}, {@code v1/accounts/...}, {@code v1/markets},
+ * {@code v1/markets/quotes}, {@code v1/markets/candles} and {@code v1/symbols} endpoints with generated payloads
+ * (see {@link Payloads}).<br><br>
+ * Like the real servers, it rotates the refresh token on every login, rejects stale access tokens with error code 1017,
+ * and sends the {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} headers. Latency, rate limits and
+ * error responses can be configured.<br><br>
+ * Example:
+ * <pre>{@code QuestradeStubServer stub = new QuestradeStubServer().setLatency(20).start();
+ * Questrade q = new Questrade(stub.getRefreshToken()).setLoginServer(stub.getUrl()).activate();
+ * ...
+ * stub.close();}</pre>
+ */
+public class QuestradeStubServer implements Closeable {
+
+	/** The number of threads that handle requests. Handlers sleep to simulate latency, so this bounds the concurrent requests. */
+	private static final int THREADS = 32;
+
+	/** The format of the timestamps in the responses, e.g. {@code 2014-10-24T20:06:40.131000-04:00}. */
+	private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX");
+
+	/** The most candles returned by one candles request, like the real API. */
+	private static final int MAX_CANDLES = 2000;
+
+	/** An error response to send instead of the next response. */
+	private static class Failure {
+
+		private final int statusCode;
+
+		private final int code;
+
+		private final String message;
+
+		private Failure(int statusCode, int code, String message) {
+			this.statusCode = statusCode;
+			this.code = code;
+			this.message = message;
+		}
+	}
+
+	/** Counts the requests of a category in the current second and the current hour. */
+	private static class Window {
+
+		private long second;
+
+		private int secondCount;
+
+		private long hour;
+
+		private int hourCount;
+	}
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	private volatile long latencyMillis = 0;
+
+	private volatile int perSecondLimit = 0;
+
+	private volatile int perHourLimit = 0;
+
+	private volatile String refreshToken = "stub-refresh-0";
+
+	private volatile String accessToken = "stub-access-0";
+
+	private final AtomicInteger logins = new AtomicInteger();
+
+	private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+	private final Map<Category, Window> windows = new EnumMap<>(Category.class);
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong throttled = new AtomicLong();
+
+	/** Starts the server on a free port of the loopback interface.
+	 * @return A reference to the calling object, for optional method chaining.
+	 * @throws IOException If the server can't be started.
+	 */
+	public QuestradeStubServer start() throws IOException {
+		// Without TCP_NODELAY, delayed ACKs add about 40 ms to every kept-alive request. Only read before the first server is created.
+		if(System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+		executor = Executors.newFixedThreadPool(THREADS, Threads.daemonThreadFactory("questrade-stub"));
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+		return this;
+	}
+
+	/** Stops the server. */
+	@Override
+	public void close() {
+		if(server != null) {
+			server.stop(0);
+			executor.shutdownNow();
+		}
+	}
+
+	/** Returns the URL of the server, which is both the login server and the API server.
+	 * @return The URL, ending with a {@code /}.
+	 */
+	public String getUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+
+	/** Returns the refresh token that the next login must use.
+	 * @return The current refresh token.
+	 */
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	/** Returns the access token that API requests must use.
+	 * @return The current access token.
+	 */
+	public String getAccessToken() {
+		return accessToken;
+	}
+
+	/** Sets how long every response is delayed.
+	 * @param latencyMillis The delay in milliseconds.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public QuestradeStubServer setLatency(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+		return this;
+	}
+
+	/** Sets the rate limits of each category of API calls. Requests past a limit are refused with status code 429.
+	 * @param perSecond The maximum number of requests per second, or 0 for no limit.
+	 * @param perHour The maximum number of requests per hour, or 0 for no limit.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public QuestradeStubServer setRateLimit(int perSecond, int perHour) {
+		this.perSecondLimit = perSecond;
+		this.perHourLimit = perHour;
+		return this;
+	}
+
+	/** Makes the next request fail with the given error. Can be called several times to fail several requests.
+	 * @param statusCode The HTTP status code, e.g. 400.
+	 * @param code The Questrade error code, e.g. 1002, 1003 or 1004.
+	 * @param message The error message.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public QuestradeStubServer failNext(int statusCode, int code, String message) {
+		failures.add(new Failure(statusCode, code, message));
+		return this;
+	}
+
+	/** Invalidates the current access token, so that the next API request fails with error code 1017 and the client has to log in again. */
+	public void expireAccessToken() {
+		accessToken = "stub-expired-" + logins.get();
+	}
+
+	/** Returns how many requests the server received.
+	 * @return The number of requests.
+	 */
+	public long getRequestCount() {
+		return requests.get();
+	}
+
+	/** Returns how many logins the server received.
+	 * @return The number of logins.
+	 */
+	public int getLoginCount() {
+		return logins.get();
+	}
+
+	/** Returns how many requests were refused because of the rate limits.
+	 * @return The number of refused requests.
+	 */
+	public long getThrottledCount() {
+		return throttled.get();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			requests.incrementAndGet();
+			if(latencyMillis > 0) {
+				Thread.sleep(latencyMillis);
+			}
+
+			String path = exchange.getRequestURI().getPath().substring(1);
+			Map<String, String> query = parseQuery(exchange.getRequestURI().getQuery());
+
+			if(path.equals("oauth2/token")) {
+				login(exchange, query);
+				return;
+			}
+
+			String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+			if(authorization == null || !authorization.equals("Bearer " + accessToken)) {
+				sendError(exchange, 401, 1017, "Access token is invalid");
+				return;
+			}
+
+			Failure failure = failures.poll();
+			if(failure != null) {
+				sendError(exchange, failure.statusCode, failure.code, failure.message);
+				return;
+			}
+
+			Category category = RateLimiter.categorize(path);
+			if(category != null && !countRequest(exchange, category)) {
+				throttled.incrementAndGet();
+				sendError(exchange, 429, 1006, "Rate limit exceeded");
+				return;
+			}
+
+			String body = respond(path, query);
+			if(body == null) {
+				sendError(exchange, 404, 1001, "Invalid endpoint");
+			} else {
+				send(exchange, 200, body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			sendError(exchange, 400, 1002, "Invalid or malformed argument: " + e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/** Exchanges the refresh token for new tokens, like the login server. A stale refresh token gets a non-JSON error page. */
+	private void login(HttpExchange exchange, Map<String, String> query) throws IOException {
+		if(!refreshToken.equals(query.get("refresh_token"))) {
+			send(exchange, 400, "Bad Request");
+			return;
+		}
+
+		int login = logins.incrementAndGet();
+		refreshToken = "stub-refresh-" + login;
+		accessToken = "stub-access-" + login;
+		send(exchange, 200, "{\"access_token\":\"" + accessToken + "\",\"token_type\":\"Bearer\",\"expires_in\":1800,"
+				+ "\"refresh_token\":\"" + refreshToken + "\",\"api_server\":\"" + getUrl() + "\"}");
+	}
+
+	/** Counts a request against the rate limits of its category and sets the rate limit headers.
+	 * @return Whether the request is within the limits.
+	 */
+	private boolean countRequest(HttpExchange exchange, Category category) {
+		long now = System.currentTimeMillis();
+		long second = now / 1000;
+		long hour = second / 3600;
+		int remaining;
+		boolean allowed;
+
+		synchronized(windows) {
+			Window window = windows.get(category);
+			if(window == null) {
+				window = new Window();
+				windows.put(category, window);
+			}
+			if(window.second != second) {
+				window.second = second;
+				window.secondCount = 0;
+			}
+			if(window.hour != hour) {
+				window.hour = hour;
+				window.hourCount = 0;
+			}
+
+			allowed = (perSecondLimit <= 0 || window.secondCount < perSecondLimit)
+					&& (perHourLimit <= 0 || window.hourCount < perHourLimit);
+			if(allowed) {
+				window.secondCount++;
+				window.hourCount++;
+			}
+			remaining = (perHourLimit > 0) ? perHourLimit - window.hourCount : Integer.MAX_VALUE;
+		}
+
+		if(perHourLimit > 0) {
+			exchange.getResponseHeaders().set("X-RateLimit-Remaining", Integer.toString(remaining));
+			exchange.getResponseHeaders().set("X-RateLimit-Reset", Long.toString((hour + 1) * 3600));
+		}
+		return allowed;
+	}
+
+	/** Returns the response body of the given API path, or {@code null} if the endpoint doesn't exist. */
+	private static String respond(String path, Map<String, String> query) {
+		String[] parts = path.split("/");
+		if(parts.length < 2 || !parts[0].equals("v1")) {
+			return null;
+		}
+
+		switch(parts[1]) {
+			case "time":
+				return "{\"time\":\"" + OffsetDateTime.now(ZoneId.of("America/New_York")).format(TIME_FORMATTER) + "\"}";
+			case "accounts":
+				return (parts.length == 2) ? accounts() : account(parts);
+			case "markets":
+				return market(parts, query);
+			case "symbols":
+				return symbols(parts, query);
+			default:
+				return null;
+		}
+	}
+
+	private static String accounts() {
+		return "{\"accounts\":[{\"type\":\"Margin\",\"number\":\"26598145\",\"status\":\"Active\",\"isPrimary\":true,"
+				+ "\"isBilling\":true,\"clientAccountType\":\"Individual\"},{\"type\":\"TFSA\",\"number\":\"26598146\","
+				+ "\"status\":\"Active\",\"isPrimary\":false,\"isBilling\":false,\"clientAccountType\":\"Individual\"}],\"userId\":3000124}";
+	}
+
+	private static String account(String[] parts) {
+		if(parts.length < 4) {
+			return null;
+		}
+		switch(parts[3]) {
+			case "balances":
+				return Payloads.balances();
+			case "positions":
+				return Payloads.positions(20);
+			case "orders":
+				return Payloads.orders(20);
+			case "executions":
+				return executions(20);
+			case "activities":
+				return activities(20);
+			default:
+				return null;
+		}
+	}
+
+	private static String market(String[] parts, Map<String, String> query) {
+		if(parts.length == 2) {
+			return markets();
+		}
+		switch(parts[2]) {
+			case "quotes":
+				return Payloads.quotes((parts.length > 3) ? new int[] { Integer.parseInt(parts[3]) } : parseIds(query.get("ids")));
+			case "candles":
+				return candles(OffsetDateTime.parse(query.get("startTime")), OffsetDateTime.parse(query.get("endTime")),
+						Interval.valueOf(query.get("interval")));
+			default:
+				return null;
+		}
+	}
+
+	private static String symbols(String[] parts, Map<String, String> query) {
+		if(parts.length > 2 && parts[2].equals("search")) {
+			String prefix = query.get("prefix");
+			StringBuilder json = new StringBuilder("{\"symbols\":[");
+			for(int i = 0; i < 5; i++) {
+				json.append((i > 0) ? "," : "").append("{\"symbol\":\"").append(prefix).append(i).append("\",\"symbolId\":")
+					.append(Payloads.symbolId(prefix + i)).append(",\"description\":\"").append(prefix).append(i)
+					.append(" INC\",\"securityType\":\"Stock\",\"listingExchange\":\"NASDAQ\",\"isTradable\":true,")
+					.append("\"isQuotable\":true,\"currency\":\"USD\"}");
+			}
+			return json.append("]}").toString();
+		}
+
+		if(parts.length > 2) {
+			return Payloads.symbolInfos(new int[] { Integer.parseInt(parts[2]) });
+		}
+		if(query.containsKey("ids")) {
+			return Payloads.symbolInfos(parseIds(query.get("ids")));
+		}
+		String[] names = query.get("names").split(",");
+		int[] ids = new int[names.length];
+		for(int i = 0; i < names.length; i++) {
+			ids[i] = Payloads.symbolId(names[i]);
+		}
+		return Payloads.symbolInfos(ids);
+	}
+
+	private static String markets() {
+		String[] names = { "TSX", "TSXV", "CNSX", "MX", "NASDAQ", "NYSE", "NYSEAM", "ARCA", "OPRA", "PinkSheets", "OTCBB" };
+		StringBuilder json = new StringBuilder("{\"markets\":[");
+		for(int i = 0; i < names.length; i++) {
+			json.append((i > 0) ? "," : "").append("{\"name\":\"").append(names[i]).append("\",\"tradingVenues\":[\"")
+				.append(names[i]).append("\"],\"defaultTradingVenue\":\"AUTO\",\"primaryOrderRoutes\":[\"AUTO\"],")
+				.append("\"secondaryOrderRoutes\":[],\"level1Feeds\":[\"").append(names[i]).append("\"],\"level2Feeds\":[],")
+				.append("\"extendedStartTime\":\"2014-10-06T07:00:00.000000-04:00\",\"startTime\":\"2014-10-06T09:30:00.000000-04:00\",")
+				.append("\"endTime\":\"2014-10-06T16:00:00.000000-04:00\",\"extendedEndTime\":\"2014-10-06T20:00:00.000000-04:00\",")
+				.append("\"snapQuotesLimit\":99999}");
+		}
+		return json.append("]}").toString();
+	}
+
+	/** Returns the candles that start within the given time period, at most {@link #MAX_CANDLES}. */
+	private static String candles(OffsetDateTime startTime, OffsetDateTime endTime, Interval interval) {
+		ZonedDateTime end = endTime.toZonedDateTime();
+		ZonedDateTime start = startTime.toZonedDateTime();
+		StringBuilder json = new StringBuilder("{\"candles\":[");
+		for(int i = 0; i < MAX_CANDLES && start.isBefore(end); i++) {
+			ZonedDateTime next = interval.plus(start, 1);
+			double open = 100 + (start.toEpochSecond() / 60 % 500) / 100.0;
+			json.append((i > 0) ? "," : "").append("{\"start\":\"").append(start.format(TIME_FORMATTER)).append("\",\"end\":\"")
+				.append(next.format(TIME_FORMATTER)).append("\",\"low\":").append(open - 0.5).append(",\"high\":").append(open + 0.5)
+				.append(",\"open\":").append(open).append(",\"close\":").append(open + 0.1).append(",\"volume\":")
+				.append(1000 + i).append(",\"VWAP\":").append(open + 0.05).append('}');
+			start = next;
+		}
+		return json.append("]}").toString();
+	}
+
+	private static String executions(int count) {
+		Instant time = Instant.now().truncatedTo(ChronoUnit.DAYS);
+		StringBuilder json = new StringBuilder("{\"executions\":[");
+		for(int i = 0; i < count; i++) {
+			json.append((i > 0) ? "," : "").append("{\"symbol\":\"AAPL\",\"symbolId\":8049,\"quantity\":10,\"side\":\"Buy\",")
+				.append("\"price\":536.87,\"id\":").append(53817310 + i).append(",\"orderId\":").append(177106005 + i)
+				.append(",\"orderChainId\":").append(177106005 + i).append(",\"exchangeExecId\":\"XS1771060050147\",\"timestamp\":\"")
+				.append(time.minus(i, ChronoUnit.HOURS).atOffset(ZoneOffset.ofHours(-4)).format(TIME_FORMATTER)).append("\",\"notes\":\"\",")
+				.append("\"venue\":\"LAMP\",\"totalCost\":5368.7,\"orderPlacementCommission\":0,\"commission\":4.95,")
+				.append("\"executionFee\":0,\"secFee\":0,\"canadianExecutionFee\":0,\"parentId\":0}");
+		}
+		return json.append("]}").toString();
+	}
+
+	private static String activities(int count) {
+		StringBuilder json = new StringBuilder("{\"activities\":[");
+		for(int i = 0; i < count; i++) {
+			json.append((i > 0) ? "," : "").append("{\"tradeDate\":\"2011-02-16T00:00:00.000000-05:00\",")
+				.append("\"transactionDate\":\"2011-02-16T00:00:00.000000-05:00\",\"settlementDate\":\"2011-02-16T00:00:00.000000-05:00\",")
+				.append("\"action\":\"\",\"symbol\":\"\",\"symbolId\":0,\"description\":\"INT FR 02/04 THRU02/15@ 4 3/4%BAL 205,006\",")
+				.append("\"currency\":\"USD\",\"quantity\":0,\"price\":0,\"grossAmount\":0,\"commission\":0,\"netAmount\":-")
+				.append(320 + i).append(".08,\"type\":\"Interest\"}");
+		}
+		return json.append("]}").toString();
+	}
+
+	private static int[] parseIds(String ids) {
+		String[] values = ids.split(",");
+		int[] result = new int[values.length];
+		for(int i = 0; i < values.length; i++) {
+			result[i] = Integer.parseInt(values[i]);
+		}
+		return result;
+	}
+
+	/** Parses a decoded query string. Only percent escapes are decoded, so the {@code +} of a time zone offset is kept. */
+	private static Map<String, String> parseQuery(String query) {
+		Map<String, String> parameters = new HashMap<>();
+		if(query != null) {
+			for(String parameter : query.split("&")) {
+				int equals = parameter.indexOf('=');
+				if(equals != -1) {
+					parameters.put(parameter.substring(0, equals), parameter.substring(equals + 1));
+				}
+			}
+		}
+		return parameters;
+	}
+
+	private static void sendError(HttpExchange exchange, int statusCode, int code, String message) throws IOException {
+		send(exchange, statusCode, "{\"code\":" + code + ",\"message\":\"" + message.replace("\"", "'") + "\"}");
+	}
+
+	private static void send(HttpExchange exchange, int statusCode, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(statusCode, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
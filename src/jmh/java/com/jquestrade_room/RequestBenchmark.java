@@ -0,0 +1,95 @@
+package com.jquestrade_room;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures building the URL of a {@link Request} with {@code addParameter}, the way {@link Questrade} builds every request.
+ * The {@code ids} and {@code names} lists grow with {@code count}, like a batched quote or symbol request. The {@code legacy}
+ * benchmarks build the same URLs with {@link LegacyRequest}, which concatenates every value onto the path, for comparison.<br><br>
+ * Run with {@code gradle jmh -PjmhArgs="RequestBenchmark -prof gc"} to also see the allocation rate per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBenchmark {
+
+	private static final String API_SERVER = "https://api01.iq.questrade.com/";
+
+	@Param({ "1", "10", "100", "1000" })
+	private int count;
+
+	private int[] ids;
+
+	private String[] names;
+
+	@Setup
+	public void setup() {
+		ids = new int[count];
+		names = new String[count];
+		for(int i = 0; i < count; i++) {
+			ids[i] = 10000 + i * 37;
+			names[i] = "SYM" + i + ".TO";
+		}
+	}
+
+	/** A <b>GET markets/quotes</b> request, as sent by {@link Questrade#getQuote(int[])}. */
+	@Benchmark
+	public String quoteIds() {
+		Request request = new Request("v1/markets/quotes");
+		request.setApiServer(API_SERVER);
+		request.addParameter("ids", ids);
+		return request.getUrl();
+	}
+
+	/** {@link #quoteIds()} built by concatenating every id onto the path. */
+	@Benchmark
+	public String quoteIdsLegacy() {
+		LegacyRequest request = new LegacyRequest("v1/markets/quotes");
+		request.setApiServer(API_SERVER);
+		request.addParameter("ids", ids);
+		return request.getUrl();
+	}
+
+	/** A <b>GET symbols</b> request, as sent by {@link Questrade#getSymbol(String[])}. */
+	@Benchmark
+	public String symbolNames() {
+		Request request = new Request("v1/symbols");
+		request.setApiServer(API_SERVER);
+		request.addParameter("names", names);
+		return request.getUrl();
+	}
+
+	/** {@link #symbolNames()} built by concatenating every name onto the path. */
+	@Benchmark
+	public String symbolNamesLegacy() {
+		LegacyRequest request = new LegacyRequest("v1/symbols");
+		request.setApiServer(API_SERVER);
+		request.addParameter("names", names);
+		return request.getUrl();
+	}
+
+	/** A <b>GET markets/candles</b> request with three single-value parameters, whose size doesn't depend on {@code count}. */
+	@Benchmark
+	public String candleWindow() {
+		Request request = new Request("v1/markets/candles/" + ids[0]);
+		request.setApiServer(API_SERVER);
+		request.addParameter("startTime", "2014-10-01T00:00:00-05:00");
+		request.addParameter("endTime", "2014-10-20T00:00:00-05:00");
+		request.addParameter("interval", "OneMinute");
+		return request.getUrl();
+	}
+}
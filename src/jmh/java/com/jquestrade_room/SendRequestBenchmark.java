@@ -0,0 +1,89 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jquestrade_room.Candle.Interval;
+
+/** Measures whole API calls through the public {@link Questrade} methods: building the request, sending it through the
+ * {@link PooledTransport}, and decoding the response. The responses come from a {@link QuestradeStubServer} on the loopback
+ * interface, so the results show the client's own overhead rather than network latency.<br><br>
+ * The rate limiter is disabled, since it would otherwise hold the calls to the API's real limits.
+ * Run with {@code gradle jmh -PjmhArgs="SendRequestBenchmark -prof gc"} to also see the allocation rate per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SendRequestBenchmark {
+
+	private static final ZonedDateTime START_TIME = ZonedDateTime.of(2014, 10, 1, 0, 0, 0, 0, ZoneId.of("America/Toronto"));
+
+	private static final int[] QUOTE_IDS = new int[100];
+
+	static {
+		for(int i = 0; i < QUOTE_IDS.length; i++) {
+			QUOTE_IDS[i] = 10000 + i;
+		}
+	}
+
+	private QuestradeStubServer server;
+
+	private Questrade questrade;
+
+	@Setup
+	public void setup() throws IOException, RefreshTokenException {
+		server = new QuestradeStubServer().start();
+		questrade = new Questrade(server.getRefreshToken()).setLoginServer(server.getUrl()).activate().setRateLimiter(null);
+	}
+
+	@TearDown
+	public void tearDown() {
+		server.close();
+	}
+
+	/** 100 quotes in one request. */
+	@Benchmark
+	public Quote[] getQuote() throws RefreshTokenException {
+		return questrade.getQuote(QUOTE_IDS);
+	}
+
+	/** 1440 one-minute candles in one request. */
+	@Benchmark
+	public Candle[] getCandles() throws RefreshTokenException {
+		return questrade.getCandles(8049, "AAPL", START_TIME, START_TIME.plusDays(1), Interval.OneMinute);
+	}
+
+	/** 100 symbols in one request. */
+	@Benchmark
+	public SymbolInfo[] getSymbol() throws RefreshTokenException {
+		return questrade.getSymbol(QUOTE_IDS);
+	}
+
+	@Benchmark
+	public Balances getBalances() throws RefreshTokenException {
+		return questrade.getBalances("26598145");
+	}
+
+	/** 20 orders in one request. */
+	@Benchmark
+	public Order[] getOrders() throws RefreshTokenException {
+		return questrade.getOrders("26598145", START_TIME, START_TIME.plusDays(1));
+	}
+}
@@ -0,0 +1,54 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+/** Room DAO for the {@code Accounts} table, which stores {@link Account} objects.
+ * Get one using {@link QuestradeDatabase#accountDao()}.
+ */
+@Dao
+public interface AccountDao {
+	
+	/** Inserts the given accounts in a single transaction, replacing any accounts with the same primary key.
+	 * @param accounts The accounts to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Account... accounts);
+	
+	/** Inserts the given accounts in a single transaction, replacing any accounts with the same primary key.
+	 * @param accounts The accounts to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Account> accounts);
+	
+	/** Returns every stored account.
+	 * @return Every stored account.
+	 */
+	@Query("SELECT * FROM Accounts")
+	List<Account> getAll();
+	
+	/** Deletes every stored account. */
+	@Query("DELETE FROM Accounts")
+	void deleteAll();
+	
+	/** Returns the account with the given account number.
+	 * @param number The account number.
+	 * @return The account, or {@code null} if it isn't stored.
+	 */
+	@Query("SELECT * FROM Accounts WHERE number = :number")
+	Account get(String number);
+	
+	/** Replaces every stored account with the given accounts, in a single transaction.
+	 * @param accounts The accounts to store.
+	 */
+	@Transaction
+	default void replaceAll(List<Account> accounts) {
+		deleteAll();
+		insert(accounts);
+	}
+}
@@ -0,0 +1,58 @@
+package com.jquestrade_room;
+
+/** Represents the balances, positions, orders and executions of a single account, retrieved at the same time.
+ * Part of a {@link Snapshot}.
+ */
+public class AccountSnapshot {
+	
+	private final String accountNumber;
+	private final Balances balances;
+	private final Position[] positions;
+	private final Order[] orders;
+	private final Execution[] executions;
+	
+	AccountSnapshot(String accountNumber, Balances balances, Position[] positions, Order[] orders, Execution[] executions) {
+		this.accountNumber = accountNumber;
+		this.balances = balances;
+		this.positions = positions;
+		this.orders = orders;
+		this.executions = executions;
+	}
+	
+	/** Returns the account number that this snapshot is for.
+	 * @return The account number.
+	 */
+	public String getAccountNumber() {
+		return accountNumber;
+	}
+	
+	/** Returns the balances of the account. Same as {@link Questrade#getBalances(String)}.
+	 * @return The balances of the account.
+	 */
+	public Balances getBalances() {
+		return balances;
+	}
+	
+	/** Returns the current positions of the account. Same as {@link Questrade#getPositions(String)}.
+	 * @return The positions of the account.
+	 */
+	public Position[] getPositions() {
+		return positions;
+	}
+	
+	/** Returns the orders of the account in the snapshot's time period.
+	 * Same as {@link Questrade#getOrders(String, java.time.ZonedDateTime, java.time.ZonedDateTime)}.
+	 * @return The orders of the account.
+	 */
+	public Order[] getOrders() {
+		return orders;
+	}
+	
+	/** Returns the executions of the account in the snapshot's time period.
+	 * Same as {@link Questrade#getExecutions(String, java.time.ZonedDateTime, java.time.ZonedDateTime)}.
+	 * @return The executions of the account.
+	 */
+	public Execution[] getExecutions() {
+		return executions;
+	}
+}
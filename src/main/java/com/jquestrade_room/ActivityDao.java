@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Activities} table, which stores {@link Activity} objects.
+ * Get one using {@link QuestradeDatabase#activityDao()}.
+ */
+@Dao
+public interface ActivityDao {
+	
+	/** Inserts the given activities in a single transaction, replacing any activities with the same primary key.
+	 * @param activities The activities to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Activity... activities);
+	
+	/** Inserts the given activities in a single transaction, replacing any activities with the same primary key.
+	 * @param activities The activities to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Activity> activities);
+	
+	/** Returns every stored activity.
+	 * @return Every stored activity.
+	 */
+	@Query("SELECT * FROM Activities")
+	List<Activity> getAll();
+	
+	/** Deletes every stored activity. */
+	@Query("DELETE FROM Activities")
+	void deleteAll();
+	
+	/** Returns the stored activities of the given symbol.
+	 * @param symbolId The internal symbol identifier.
+	 * @return The activities of the symbol.
+	 */
+	@Query("SELECT * FROM Activities WHERE symbolId = :symbolId")
+	List<Activity> getBySymbolId(int symbolId);
+}
@@ -0,0 +1,277 @@
+package com.jquestrade_room;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.jquestrade_room.Candle.Interval;
+import com.jquestrade_room.Order.OrderState;
+
+/** An asynchronous view of a {@link Questrade} object. Every method starts the same API request as the {@code Questrade}
+ * method of the same name and returns a {@code CompletableFuture} right away, instead of blocking the calling thread.
+ * Get one using {@link Questrade#async()} or {@link Questrade#async(Executor)}.<br><br>
+ * This is not a non-blocking client, but a {@code CompletableFuture} wrapper over the blocking one: each method runs the
+ * blocking {@code Questrade} method on the executor, and {@link Transport#send(Request)} is synchronous, so every request
+ * occupies a thread of the executor until its response is decoded.<br><br>
+ * At most min(executor threads, transport connections) requests are in flight at once:
+ * <ul>
+ * <li>The default executor uses virtual threads on Java 21+, so it adds no limit. On older JVMs and on Android,
+ * it has at most {@value #DEFAULT_MAX_THREADS} shared daemon threads, and further requests wait in its queue.</li>
+ * <li>The default {@link PooledTransport} sends at most {@value PooledTransport#DEFAULT_MAX_CONNECTIONS} requests at once
+ * (see {@link PooledTransport#getMaxConnections()}). The executor threads running further requests block until a connection is free.</li>
+ * </ul>
+ * So with the defaults, at most {@value PooledTransport#DEFAULT_MAX_CONNECTIONS} requests are on the network at once, whatever
+ * the number of pending futures. To raise it, use e.g. {@code q.setTransport(new PooledTransport(16))}.<br><br>
+ * If a request fails, the future completes exceptionally with the exception that the blocking method would have thrown
+ * (e.g. {@link RefreshTokenException}, {@link ArgumentException} or {@link StatusCodeException}).
+ */
+public class AsyncQuestrade {
+
+	/** The maximum number of threads of the default executor, on JVMs without virtual threads. */
+	public static final int DEFAULT_MAX_THREADS = 16;
+
+	/** The executor used when none is given. Its threads are daemon threads, so they don't keep the application running. */
+	private static ExecutorService defaultExecutor;
+
+	private final Questrade questrade;
+
+	private final Executor executor;
+
+	AsyncQuestrade(Questrade questrade, Executor executor) {
+		this.questrade = questrade;
+		this.executor = (executor != null) ? executor : getDefaultExecutor();
+	}
+
+	/** Returns the {@code Questrade} object that this object sends requests through.
+	 * @return The underlying {@code Questrade} object.
+	 */
+	public Questrade getQuestrade() {
+		return questrade;
+	}
+
+	/** Asynchronous version of {@link Questrade#getBalances(String)}.
+	 * @param accountNumber The account number to get the balances for.
+	 * @return A future that completes with the account's {@code Balances}.
+	 */
+	public CompletableFuture<Balances> getBalances(String accountNumber) {
+		return submit(() -> questrade.getBalances(accountNumber));
+	}
+
+	/** Asynchronous version of {@link Questrade#getAccounts()}.
+	 * @return A future that completes with all of the accounts.
+	 */
+	public CompletableFuture<Account[]> getAccounts() {
+		return submit(() -> questrade.getAccounts());
+	}
+
+	/** Asynchronous version of {@link Questrade#getTime()}.
+	 * @return A future that completes with the current server time.
+	 */
+	public CompletableFuture<ZonedDateTime> getTime() {
+		return submit(() -> questrade.getTime());
+	}
+
+	/** Asynchronous version of {@link Questrade#getActivities(String, ZonedDateTime, ZonedDateTime)}.
+	 * @param accountNumber The account for which to get the activities for.
+	 * @param startTime The beginning of the time period to get the activities for.
+	 * @param endTime The end of the time period to get the activities for.
+	 * @return A future that completes with the activities in the given time period.
+	 */
+	public CompletableFuture<Activity[]> getActivities(String accountNumber, ZonedDateTime startTime, ZonedDateTime endTime) {
+		return submit(() -> questrade.getActivities(accountNumber, startTime, endTime));
+	}
+
+	/** Asynchronous version of {@link Questrade#getExecutions(String, ZonedDateTime, ZonedDateTime)}.
+	 * @param accountNumber The account for which to get the executions for.
+	 * @param startTime The beginning of the time period to get the executions for.
+	 * @param endTime The end of the time period to get the executions for.
+	 * @return A future that completes with the executions in the given time period.
+	 */
+	public CompletableFuture<Execution[]> getExecutions(String accountNumber, ZonedDateTime startTime, ZonedDateTime endTime) {
+		return submit(() -> questrade.getExecutions(accountNumber, startTime, endTime));
+	}
+
+	/** Asynchronous version of {@link Questrade#getOrders(String, int[])}.
+	 * @param accountNumber The account to get the order information for.
+	 * @param orderIds An array containing all of the orders IDs to get information for.
+	 * @return A future that completes with the corresponding orders.
+	 */
+	public CompletableFuture<Order[]> getOrders(String accountNumber, int[] orderIds) {
+		return submit(() -> questrade.getOrders(accountNumber, orderIds));
+	}
+
+	/** Asynchronous version of {@link Questrade#getOrders(String, int, int...)}.
+	 * @param accountNumber The account to get the order information for.
+	 * @param orderId The order ID to get the order info for.
+	 * @param orderIds Optional parameter for if you want to add more order IDs to the request.
+	 * @return A future that completes with the corresponding orders.
+	 */
+	public CompletableFuture<Order[]> getOrders(String accountNumber, int orderId, int ...orderIds) {
+		return submit(() -> questrade.getOrders(accountNumber, orderId, orderIds));
+	}
+
+	/** Asynchronous version of {@link Questrade#getOrders(String, ZonedDateTime, ZonedDateTime)}.
+	 * @param accountNumber The account for which to get the orders for.
+	 * @param startTime The beginning of the time period to get the orders for.
+	 * @param endTime The end of the time period to get the orders for.
+	 * @return A future that completes with the orders created in the time period.
+	 */
+	public CompletableFuture<Order[]> getOrders(String accountNumber, ZonedDateTime startTime, ZonedDateTime endTime) {
+		return submit(() -> questrade.getOrders(accountNumber, startTime, endTime));
+	}
+
+	/** Asynchronous version of {@link Questrade#getOrders(String, ZonedDateTime, ZonedDateTime, OrderState)}.
+	 * @param accountNumber The account for which to get the orders for.
+	 * @param startTime The beginning of the time period to get the orders for.
+	 * @param endTime The end of the time period to get the orders for.
+	 * @param orderState The state of the order. See {@link Order.OrderState} for all possible values.
+	 * @return A future that completes with the orders created in the time period.
+	 */
+	public CompletableFuture<Order[]> getOrders(String accountNumber, ZonedDateTime startTime, ZonedDateTime endTime, OrderState orderState) {
+		return submit(() -> questrade.getOrders(accountNumber, startTime, endTime, orderState));
+	}
+
+	/** Asynchronous version of {@link Questrade#getPositions(String)}.
+	 * @param accountNumber The account to get the positions for.
+	 * @return A future that completes with the account's positions.
+	 */
+	public CompletableFuture<Position[]> getPositions(String accountNumber) {
+		return submit(() -> questrade.getPositions(accountNumber));
+	}
+
+	/** Asynchronous version of {@link Questrade#getCandles(int, ZonedDateTime, ZonedDateTime, Interval)}.
+	 * @param symbolId The internal symbol identifier.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for.
+	 * @param interval The time between the candles.
+	 * @return A future that completes with the candles within the given time period.
+	 */
+	public CompletableFuture<Candle[]> getCandles(int symbolId, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval) {
+		return submit(() -> questrade.getCandles(symbolId, startTime, endTime, interval));
+	}
+
+	/** Asynchronous version of {@link Questrade#getCandles(int, String, ZonedDateTime, ZonedDateTime, Interval)}.
+	 * @param symbolId The internal symbol identifier.
+	 * @param symbol The symbol/ticker to set on each {@code Candle}. Can be {@code null}.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for.
+	 * @param interval The time between the candles.
+	 * @return A future that completes with the candles within the given time period.
+	 */
+	public CompletableFuture<Candle[]> getCandles(int symbolId, String symbol, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval) {
+		return submit(() -> questrade.getCandles(symbolId, symbol, startTime, endTime, interval));
+	}
+
+	/** Asynchronous version of {@link Questrade#getCandleSeries(int, ZonedDateTime, ZonedDateTime, Interval)}.
+	 * @param symbolId The internal symbol identifier.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for.
+	 * @param interval The time between the candles.
+	 * @return A future that completes with a {@code CandleSeries} of the candles within the given time period.
+	 */
+	public CompletableFuture<CandleSeries> getCandleSeries(int symbolId, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval) {
+		return submit(() -> questrade.getCandleSeries(symbolId, startTime, endTime, interval));
+	}
+	
+	/** Asynchronous version of {@link Questrade#getMarkets()}.
+	 * @return A future that completes with all of the available markets.
+	 */
+	public CompletableFuture<Market[]> getMarkets() {
+		return submit(() -> questrade.getMarkets());
+	}
+
+	/** Asynchronous version of {@link Questrade#searchSymbol(String)}.
+	 * @param prefix The prefix of a symbol or any word in the description.
+	 * @return A future that completes with basic information about the matching symbol(s).
+	 */
+	public CompletableFuture<Symbol[]> searchSymbol(String prefix) {
+		return submit(() -> questrade.searchSymbol(prefix));
+	}
+
+	/** Asynchronous version of {@link Questrade#searchSymbol(String, int)}.
+	 * @param prefix The prefix of a symbol or any word in the description.
+	 * @param offset Offset in number of records from the beginning of a result set.
+	 * @return A future that completes with basic information about the matching symbol(s).
+	 */
+	public CompletableFuture<Symbol[]> searchSymbol(String prefix, int offset) {
+		return submit(() -> questrade.searchSymbol(prefix, offset));
+	}
+
+	/** Asynchronous version of {@link Questrade#getSymbol(int, int...)}.
+	 * @param id The internal unique identifier for a symbol.
+	 * @param ids Optional parameter for if you want to get information for multiple symbols in the same request.
+	 * @return A future that completes with information about the symbol(s).
+	 */
+	public CompletableFuture<SymbolInfo[]> getSymbol(int id, int ...ids) {
+		return submit(() -> questrade.getSymbol(id, ids));
+	}
+
+	/** Asynchronous version of {@link Questrade#getSymbol(int[])}.
+	 * @param ids The internal unique identifiers for one or more symbols.
+	 * @return A future that completes with information about the symbol(s).
+	 */
+	public CompletableFuture<SymbolInfo[]> getSymbol(int[] ids) {
+		return submit(() -> questrade.getSymbol(ids));
+	}
+
+	/** Asynchronous version of {@link Questrade#getSymbol(String, String...)}.
+	 * @param name The name of the symbol. (Eg: "MSFT")
+	 * @param names Optional parameter for if you want to get information for multiple symbols in the same request.
+	 * @return A future that completes with information about the symbol(s).
+	 */
+	public CompletableFuture<SymbolInfo[]> getSymbol(String name, String ...names) {
+		return submit(() -> questrade.getSymbol(name, names));
+	}
+
+	/** Asynchronous version of {@link Questrade#getSymbol(String[])}.
+	 * @param names The names of the symbols. (Eg: "MSFT", "AAPL")
+	 * @return A future that completes with information about the symbol(s).
+	 */
+	public CompletableFuture<SymbolInfo[]> getSymbol(String[] names) {
+		return submit(() -> questrade.getSymbol(names));
+	}
+
+	/** Asynchronous version of {@link Questrade#getQuote(int, int...)}.
+	 * @param id The internal identifer of a symbol.
+	 * @param ids Optional parameter for adding more symbols to the same request.
+	 * @return A future that completes with the quote for each requested symbol.
+	 */
+	public CompletableFuture<Quote[]> getQuote(int id, int ...ids) {
+		return submit(() -> questrade.getQuote(id, ids));
+	}
+
+	/** Asynchronous version of {@link Questrade#getQuote(int[])}.
+	 * @param ids The internal identifers of the symbols.
+	 * @return A future that completes with the quote for each requested symbol.
+	 */
+	public CompletableFuture<Quote[]> getQuote(int[] ids) {
+		return submit(() -> questrade.getQuote(ids));
+	}
+
+	/** Runs the given call on this object's executor. All methods funnel into here. */
+	private <T> CompletableFuture<T> submit(Questrade.Call<T> call) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					future.complete(call.call());
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/** Lazily creates the shared default executor. */
+	private static synchronized Executor getDefaultExecutor() {
+		if(defaultExecutor == null) {
+			defaultExecutor = Threads.newVirtualThreadExecutor("questrade-async", DEFAULT_MAX_THREADS);
+		}
+		return defaultExecutor;
+	}
+}
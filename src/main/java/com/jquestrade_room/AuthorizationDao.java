@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Authorization} table, which stores {@link Authorization} objects.
+ * Get one using {@link QuestradeDatabase#authorizationDao()}.
+ */
+@Dao
+public interface AuthorizationDao {
+	
+	/** Inserts the given authorizations in a single transaction, replacing any authorizations with the same primary key.
+	 * @param authorizations The authorizations to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Authorization... authorizations);
+	
+	/** Inserts the given authorizations in a single transaction, replacing any authorizations with the same primary key.
+	 * @param authorizations The authorizations to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Authorization> authorizations);
+	
+	/** Returns every stored authorization.
+	 * @return Every stored authorization.
+	 */
+	@Query("SELECT * FROM Authorization")
+	List<Authorization> getAll();
+	
+	/** Deletes every stored authorization. */
+	@Query("DELETE FROM Authorization")
+	void deleteAll();
+	
+	/** Returns the stored authorization of the given refresh token.
+	 * @param refreshToken The refresh token.
+	 * @return The authorization, or {@code null} if it isn't stored.
+	 */
+	@Query("SELECT * FROM Authorization WHERE refresh_token = :refreshToken")
+	Authorization get(String refreshToken);
+}
@@ -5,6 +5,17 @@ public class Balance {
 	
 	private Balance() {}
 	
+	Balance(String currency, double cash, double marketValue, double totalEquity, double buyingPower, double maintenanceExcess,
+			boolean isRealTime) {
+		this.currency = currency;
+		this.cash = cash;
+		this.marketValue = marketValue;
+		this.totalEquity = totalEquity;
+		this.buyingPower = buyingPower;
+		this.maintenanceExcess = maintenanceExcess;
+		this.isRealTime = isRealTime;
+	}
+	
 	private String currency;
 	private double cash;
 	private double marketValue;
@@ -0,0 +1,62 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/** Reflection-free type adapter for {@link Balance}. */
+final class BalanceTypeAdapter extends TypeAdapter<Balance> {
+
+	@Override
+	public void write(JsonWriter out, Balance balance) throws IOException {
+		if(balance == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("currency").value(balance.getCurrency());
+		out.name("cash").value(balance.getCash());
+		out.name("marketValue").value(balance.getMarketValue());
+		out.name("totalEquity").value(balance.getTotalEquity());
+		out.name("buyingPower").value(balance.getBuyingPower());
+		out.name("maintenanceExcess").value(balance.getMaintenanceExcess());
+		out.name("isRealTime").value(balance.isRealTime());
+		out.endObject();
+	}
+
+	@Override
+	public Balance read(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		String currency = null;
+		double cash = 0;
+		double marketValue = 0;
+		double totalEquity = 0;
+		double buyingPower = 0;
+		double maintenanceExcess = 0;
+		boolean isRealTime = false;
+
+		in.beginObject();
+		while(in.hasNext()) {
+			switch(in.nextName()) {
+				case "currency": currency = Json.nextString(in); break;
+				case "cash": cash = Json.nextDouble(in); break;
+				case "marketValue": marketValue = Json.nextDouble(in); break;
+				case "totalEquity": totalEquity = Json.nextDouble(in); break;
+				case "buyingPower": buyingPower = Json.nextDouble(in); break;
+				case "maintenanceExcess": maintenanceExcess = Json.nextDouble(in); break;
+				case "isRealTime": isRealTime = Json.nextBoolean(in); break;
+				default: in.skipValue();
+			}
+		}
+		in.endObject();
+
+		return new Balance(currency, cash, marketValue, totalEquity, buyingPower, maintenanceExcess, isRealTime);
+	}
+}
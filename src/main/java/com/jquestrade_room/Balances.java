@@ -4,7 +4,6 @@ import java.time.ZonedDateTime;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
-import androidx.room.PrimaryKey;
 
 /** Represents the overall encompassing balance for an account.
  * Has methods to access per-currency blalances and combined balances.
@@ -12,9 +11,18 @@ import androidx.room.PrimaryKey;
  * Accounts balances API documentation</a> 
  * for more insight.
  */
-@Entity(tableName = "Balances")
+@Entity(
+	tableName = "Balances",
+	primaryKeys = {
+			"accountNumber",
+			"timeOfCreation",
+	}
+)
 public class Balances {
 	
+	// Used by Gson, so that timeOfCreation is initialized
+	private Balances() {}
+	
 	public Balances(ZonedDateTime timeOfCreation, Balance[] perCurrencyBalances, Balance[] combinedBalances,
 			Balance[] sodPerCurrencyBalances, Balance[] sodCombinedBalances) {
 		this.timeOfCreation = timeOfCreation;
@@ -39,10 +47,13 @@ public class Balances {
 	private Balance[] sodPerCurrencyBalances;
 	private Balance[] sodCombinedBalances;
 	
-	@PrimaryKey
 	@NonNull
 	private ZonedDateTime timeOfCreation = ZonedDateTime.now();
 	
+	/** The account that these balances belong to. Not part of the API response, so it is set by {@link Questrade#getBalances(String)}. */
+	@NonNull
+	private String accountNumber = "";
+	
 	/** Returns the time that this object was created.
 	 * @return The time that this object was created.
 	 */
@@ -50,6 +61,22 @@ public class Balances {
 		return timeOfCreation;
 	}
 	
+	/** Returns the time that this object was created. Used by Room, see {@link #timeOfCreation()}. */
+	ZonedDateTime getTimeOfCreation() {
+		return timeOfCreation;
+	}
+	
+	/** Returns the number of the account that these balances belong to.
+	 * @return The account number.
+	 */
+	public String getAccountNumber() {
+		return accountNumber;
+	}
+	
+	void setAccountNumber(String accountNumber) {
+		this.accountNumber = accountNumber;
+	}
+	
 	/** Returns the balance for a particular currency's side of the account.<br>
 	 * i.e. {@code getPerCurrencyBalances(Currency.CAD)} would return a {@code Balance}
 	 * object that represents only the CAD in the account.
@@ -106,4 +133,22 @@ public class Balances {
 		return sodCombinedBalances[1];
 	}
 	
-}
\ No newline at end of file
+	// The whole arrays, which Room stores with Converters
+	
+	Balance[] getPerCurrencyBalances() {
+		return perCurrencyBalances;
+	}
+	
+	Balance[] getCombinedBalances() {
+		return combinedBalances;
+	}
+	
+	Balance[] getSodPerCurrencyBalances() {
+		return sodPerCurrencyBalances;
+	}
+	
+	Balance[] getSodCombinedBalances() {
+		return sodCombinedBalances;
+	}
+	
+}
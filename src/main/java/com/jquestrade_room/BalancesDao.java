@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Balances} table, which stores {@link Balances} objects.
+ * Get one using {@link QuestradeDatabase#balancesDao()}.
+ */
+@Dao
+public interface BalancesDao {
+	
+	/** Inserts the given balances in a single transaction, replacing any balances with the same primary key.
+	 * @param balances The balances to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Balances... balances);
+	
+	/** Inserts the given balances in a single transaction, replacing any balances with the same primary key.
+	 * @param balances The balances to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Balances> balances);
+	
+	/** Returns every stored {@code Balances} object.
+	 * @return Every stored balances.
+	 */
+	@Query("SELECT * FROM Balances")
+	List<Balances> getAll();
+	
+	/** Returns the stored balances of the given account, oldest first.
+	 * @param accountNumber The account number.
+	 * @return The balances of the account.
+	 */
+	@Query("SELECT * FROM Balances WHERE accountNumber = :accountNumber ORDER BY timeOfCreation")
+	List<Balances> getByAccount(String accountNumber);
+	
+	/** Deletes every stored {@code Balances} object. */
+	@Query("DELETE FROM Balances")
+	void deleteAll();
+}
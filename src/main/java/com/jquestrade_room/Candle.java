@@ -1,5 +1,9 @@
 package com.jquestrade_room;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import androidx.annotation.NonNull;
 import androidx.room.Entity;
 
 /** Represents historical market data in the form of 
@@ -11,9 +15,9 @@ import androidx.room.Entity;
 @Entity(
 	tableName = "Candles",
 	primaryKeys = {
-			"start",
-			"end",
-			"symbol"
+			"symbolId",
+			"interval",
+			"startMillis"
 	}
 )
 public class Candle {
@@ -28,6 +32,12 @@ public class Candle {
 	private double VWAP;
 	private String symbol;
 	
+	// Set once the candles are received, see setSeries()
+	private int symbolId;
+	@NonNull
+	private Interval interval;
+	private long startMillis;
+	
 	public Candle(String start, String end, double low, double high, double open, double close, int volume, double VWAP,
 			String symbol) {
 		this.start = start;
@@ -48,22 +58,35 @@ public class Candle {
 	 * The Historical Data Granularity (candle interval) documentation</a>
 	 */
 	public enum Interval {
-		OneMinute,
-		TwoMinutes,
-		ThreeMinutes,
-		FourMinutes,
-		FiveMinutes,
-		TenMinutes,
-		FifteenMinutes,
-		TwentyMinutes,
-		HalfHour,
-		OneHour,
-		TwoHours,
-		FourHours,
-		OneDay,
-		OneWeek,
-		OneMonth,
-		OneYear
+		OneMinute(1, ChronoUnit.MINUTES),
+		TwoMinutes(2, ChronoUnit.MINUTES),
+		ThreeMinutes(3, ChronoUnit.MINUTES),
+		FourMinutes(4, ChronoUnit.MINUTES),
+		FiveMinutes(5, ChronoUnit.MINUTES),
+		TenMinutes(10, ChronoUnit.MINUTES),
+		FifteenMinutes(15, ChronoUnit.MINUTES),
+		TwentyMinutes(20, ChronoUnit.MINUTES),
+		HalfHour(30, ChronoUnit.MINUTES),
+		OneHour(1, ChronoUnit.HOURS),
+		TwoHours(2, ChronoUnit.HOURS),
+		FourHours(4, ChronoUnit.HOURS),
+		OneDay(1, ChronoUnit.DAYS),
+		OneWeek(1, ChronoUnit.WEEKS),
+		OneMonth(1, ChronoUnit.MONTHS),
+		OneYear(1, ChronoUnit.YEARS);
+		
+		private final long amount;
+		private final ChronoUnit unit;
+		
+		Interval(long amount, ChronoUnit unit) {
+			this.amount = amount;
+			this.unit = unit;
+		}
+		
+		/** Returns the given time plus the given number of intervals. */
+		ZonedDateTime plus(ZonedDateTime time, long count) {
+			return time.plus(amount * count, unit);
+		}
 	}
 	
 	/** Returns the candlestick start timestamp (in ISO format).
@@ -124,11 +147,53 @@ public class Candle {
 		return VWAP;
 	}
 	
+	/** Returns the symbol/ticker of this candle.
+	 * @return The symbol/ticker, or {@code null} if it wasn't known when the candle was retrieved.
+	 */
 	public String getSymbol() {
 		return symbol;
 	}
 	
-	void setSymbol(String symbol) {
+	/** Returns the internal symbol identifier of this candle.
+	 * @return The internal symbol identifier.
+	 */
+	public int getSymbolId() {
+		return symbolId;
+	}
+	
+	/** Returns the interval of the set of candles that this candle belongs to.
+	 * @return The interval of this candle.
+	 */
+	public Interval getInterval() {
+		return interval;
+	}
+	
+	/** Returns the candlestick start timestamp as epoch milliseconds.
+	 * @return Candlestick start timestamp in milliseconds since 1970-01-01T00:00:00Z.
+	 */
+	public long getStartMillis() {
+		return startMillis;
+	}
+	
+	// Used by Room, which doesn't use setSeries()
+	
+	void setSymbolId(int symbolId) {
+		this.symbolId = symbolId;
+	}
+	
+	void setInterval(Interval interval) {
+		this.interval = interval;
+	}
+	
+	void setStartMillis(long startMillis) {
+		this.startMillis = startMillis;
+	}
+	
+	/** Sets which symbol and interval this candle belongs to, which the API doesn't include in the candle itself. */
+	void setSeries(int symbolId, String symbol, Interval interval) {
+		this.symbolId = symbolId;
 		this.symbol = symbol;
+		this.interval = interval;
+		this.startMillis = ZonedDateTime.parse(start).toInstant().toEpochMilli();
 	}
 }
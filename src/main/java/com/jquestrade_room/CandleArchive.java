@@ -0,0 +1,385 @@
+package com.jquestrade_room;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.jquestrade_room.Candle.Interval;
+
+/** An append-only binary file of the candles of one symbol and interval, read through memory-mapped buffers.
+ * Candles are read straight from the mapped file, so scanning an archive doesn't copy it onto the heap,
+ * and a candle can be found by its start time with a binary search.<br><br>
+ * The file starts with a {@value #HEADER_BYTES}-byte header (the magic bytes {@code QTCANDLE}, the format version, the record size,
+ * the symbol ID and the interval name), followed by one {@value #RECORD_BYTES}-byte record per candle, in chronological order:
+ * start and end (epoch seconds, {@code long}), open, high, low and close ({@code double}), volume ({@code long}) and VWAP ({@code double}).
+ * All values are big-endian. The number of candles is worked out from the file size, so a record left incomplete by a crash is ignored
+ * and overwritten by the next append.<br><br>
+ * This class isn't thread-safe.<br><br>
+ * Example:
+ * <pre>{@code try(CandleArchive archive = CandleArchive.open(path, symbolId, Interval.OneMinute)) {
+ *     archive.append(q.getCandleSeries(symbolId, startTime, endTime, Interval.OneMinute));
+ *     int i = archive.indexOf(time.toEpochSecond());
+ * }}</pre>
+ */
+public class CandleArchive implements Closeable {
+
+	/** The size of the file header, in bytes. */
+	public static final int HEADER_BYTES = 64;
+
+	/** The size of a candle record, in bytes. */
+	public static final int RECORD_BYTES = 64;
+
+	private static final byte[] MAGIC = "QTCANDLE".getBytes(StandardCharsets.US_ASCII);
+
+	private static final short VERSION = 1;
+
+	/** The room for the interval name in the header. */
+	private static final int INTERVAL_NAME_BYTES = 32;
+
+	/** The number of records per mapped region. Regions are 1 GB, since a single mapping can't exceed 2 GB. */
+	private static final int RECORDS_PER_REGION = 1 << 24;
+
+	private static final int START = 0;
+	private static final int END = 8;
+	private static final int OPEN = 16;
+	private static final int HIGH = 24;
+	private static final int LOW = 32;
+	private static final int CLOSE = 40;
+	private static final int VOLUME = 48;
+	private static final int VWAP = 56;
+
+	private final FileChannel channel;
+
+	private final int symbolId;
+
+	private final Interval interval;
+
+	private int size;
+
+	/** The mapped regions of the file, each holding up to {@link #RECORDS_PER_REGION} records. The last one may be mapped only partly. */
+	private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+	/** The number of records covered by {@link #regions}. */
+	private long mappedRecords = 0;
+
+	private CandleArchive(FileChannel channel, int symbolId, Interval interval, int size) {
+		this.channel = channel;
+		this.symbolId = symbolId;
+		this.interval = interval;
+		this.size = size;
+	}
+
+	/** Opens the archive at the given path, creating it if it doesn't exist.
+	 * @param path The archive file.
+	 * @param symbolId The internal symbol identifier of the candles in the archive.
+	 * @param interval The interval of the candles in the archive.
+	 * @return The opened archive.
+	 * @throws IOException If the file can't be opened, or is an archive of another symbol or interval.
+	 */
+	public static CandleArchive open(Path path, int symbolId, Interval interval) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if(channel.size() == 0) {
+				writeHeader(channel, symbolId, interval);
+			} else {
+				readHeader(channel, symbolId, interval);
+			}
+			long records = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+			if(records > Integer.MAX_VALUE) {
+				throw new IOException("Archive has too many candles: " + records);
+			}
+			return new CandleArchive(channel, symbolId, interval, (int) records);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/** Appends the given candles. Candles that don't start after the last candle of the archive are skipped, so the same or
+	 * overlapping time periods can be appended more than once.
+	 * @param series The candles to append. Must be of the archive's symbol and interval, unless it is empty.
+	 * @return The number of candles appended.
+	 * @throws ArgumentException If the series is of another symbol or interval than the archive.
+	 * @throws IOException If the candles can't be written.
+	 */
+	public int append(CandleSeries series) throws IOException {
+		// An empty series has nothing to write, and one made by CandleSeries.of has no symbol or interval
+		if(series.size() == 0) {
+			return 0;
+		}
+		if(series.getSymbolId() != symbolId || series.getInterval() != interval) {
+			throw new ArgumentException("Can't append candles of symbol ID " + series.getSymbolId() + " at interval " + series.getInterval()
+					+ " to an archive of symbol ID " + symbolId + " at interval " + interval);
+		}
+
+		long[] starts = series.getStarts();
+		int from = 0;
+		if(size > 0) {
+			long lastStart = getStart(size - 1);
+			while(from < series.size() && starts[from] <= lastStart) {
+				from++;
+			}
+		}
+
+		int count = series.size() - from;
+		if(count == 0) {
+			return 0;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_BYTES);
+		for(int i = from; i < series.size(); i++) {
+			buffer.putLong(starts[i]);
+			buffer.putLong(series.getEnds()[i]);
+			buffer.putDouble(series.getOpens()[i]);
+			buffer.putDouble(series.getHighs()[i]);
+			buffer.putDouble(series.getLows()[i]);
+			buffer.putDouble(series.getCloses()[i]);
+			buffer.putLong(series.getVolumes()[i]);
+			buffer.putDouble(series.getVWAPs()[i]);
+		}
+		buffer.flip();
+
+		long position = HEADER_BYTES + (long) size * RECORD_BYTES;
+		while(buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+		size += count;
+		return count;
+	}
+
+	/** Appends the given candles, e.g. the result of {@link Questrade#getCandles(int, java.time.ZonedDateTime, java.time.ZonedDateTime, Interval)}.
+	 * Candles that don't start after the last candle of the archive are skipped.
+	 * @param candles The candles to append, in chronological order.
+	 * @return The number of candles appended.
+	 * @throws IOException If the candles can't be written.
+	 */
+	public int append(Candle[] candles) throws IOException {
+		return append(CandleSeries.of(candles));
+	}
+
+	/** Forces the appended candles to be written to the storage device.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void flush() throws IOException {
+		channel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		regions.clear();
+		channel.close();
+	}
+
+	/** Returns the internal symbol identifier of the candles in the archive.
+	 * @return The internal symbol identifier.
+	 */
+	public int getSymbolId() {
+		return symbolId;
+	}
+
+	/** Returns the interval of the candles in the archive.
+	 * @return The interval of the candles.
+	 */
+	public Interval getInterval() {
+		return interval;
+	}
+
+	/** Returns the number of candles in the archive.
+	 * @return The number of candles.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/** Returns the start timestamp of a candle.
+	 * @param index The index of the candle.
+	 * @return The start timestamp, in epoch seconds.
+	 */
+	public long getStart(int index) {
+		return region(index).getLong(offset(index) + START);
+	}
+
+	/** Returns the end timestamp of a candle.
+	 * @param index The index of the candle.
+	 * @return The end timestamp, in epoch seconds.
+	 */
+	public long getEnd(int index) {
+		return region(index).getLong(offset(index) + END);
+	}
+
+	/** Returns the opening price of a candle.
+	 * @param index The index of the candle.
+	 * @return The opening price.
+	 */
+	public double getOpen(int index) {
+		return region(index).getDouble(offset(index) + OPEN);
+	}
+
+	/** Returns the highest price of a candle.
+	 * @param index The index of the candle.
+	 * @return The highest price.
+	 */
+	public double getHigh(int index) {
+		return region(index).getDouble(offset(index) + HIGH);
+	}
+
+	/** Returns the lowest price of a candle.
+	 * @param index The index of the candle.
+	 * @return The lowest price.
+	 */
+	public double getLow(int index) {
+		return region(index).getDouble(offset(index) + LOW);
+	}
+
+	/** Returns the closing price of a candle.
+	 * @param index The index of the candle.
+	 * @return The closing price.
+	 */
+	public double getClose(int index) {
+		return region(index).getDouble(offset(index) + CLOSE);
+	}
+
+	/** Returns the trading volume of a candle.
+	 * @param index The index of the candle.
+	 * @return The trading volume.
+	 */
+	public long getVolume(int index) {
+		return region(index).getLong(offset(index) + VOLUME);
+	}
+
+	/** Returns the Volume Weighted Average Price of a candle.
+	 * @param index The index of the candle.
+	 * @return The VWAP.
+	 */
+	public double getVWAP(int index) {
+		return region(index).getDouble(offset(index) + VWAP);
+	}
+
+	/** Returns the index of the candle that starts at the given time, using a binary search on the start times.
+	 * @param epochSecond The start timestamp, in epoch seconds.
+	 * @return The index of the candle, or {@code -(insertion point) - 1} if no candle starts at that time,
+	 * like {@link Arrays#binarySearch(long[], long)}.
+	 */
+	public int indexOf(long epochSecond) {
+		int low = 0;
+		int high = size - 1;
+		while(low <= high) {
+			int middle = (low + high) >>> 1;
+			long start = getStart(middle);
+			if(start < epochSecond) {
+				low = middle + 1;
+			} else if(start > epochSecond) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/** Copies the candles that start within the given time period into a {@link CandleSeries}.
+	 * @param startEpochSecond The beginning of the time period, in epoch seconds.
+	 * @param endEpochSecond The end of the time period (inclusive), in epoch seconds.
+	 * @return The candles within the time period.
+	 */
+	public CandleSeries read(long startEpochSecond, long endEpochSecond) {
+		int from = indexOf(startEpochSecond);
+		if(from < 0) {
+			from = -from - 1;
+		}
+		int to = indexOf(endEpochSecond);
+		to = (to < 0) ? -to - 1 : to + 1;
+
+		CandleSeries series = new CandleSeries(symbolId, null, interval);
+		for(int i = from; i < to; i++) {
+			series.add(getStart(i), getEnd(i), getOpen(i), getHigh(i), getLow(i), getClose(i), getVolume(i), getVWAP(i));
+		}
+		series.trimToSize();
+		return series;
+	}
+
+	/** Returns the mapped region that holds the given record, mapping the file up to its current size first if needed. */
+	private MappedByteBuffer region(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		if(index >= mappedRecords) {
+			map();
+		}
+		return regions.get(index / RECORDS_PER_REGION);
+	}
+
+	private static int offset(int index) {
+		return (index % RECORDS_PER_REGION) * RECORD_BYTES;
+	}
+
+	/** Maps the records appended since the last mapping. The last, partly-mapped region is mapped again to cover its new records. */
+	private void map() {
+		try {
+			if(!regions.isEmpty() && mappedRecords % RECORDS_PER_REGION != 0) {
+				regions.remove(regions.size() - 1);
+			}
+			for(int region = regions.size(); (long) region * RECORDS_PER_REGION < size; region++) {
+				long first = (long) region * RECORDS_PER_REGION;
+				long records = Math.min(RECORDS_PER_REGION, size - first);
+				regions.add(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * RECORD_BYTES, records * RECORD_BYTES));
+			}
+			mappedRecords = size;
+		} catch (IOException e) {
+			throw new IllegalStateException("Couldn't map the candle archive", e);
+		}
+	}
+
+	private static void writeHeader(FileChannel channel, int symbolId, Interval interval) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.put(MAGIC);
+		header.putShort(VERSION);
+		header.putShort((short) RECORD_BYTES);
+		header.putInt(symbolId);
+		header.put(interval.name().getBytes(StandardCharsets.US_ASCII));
+		header.position(HEADER_BYTES);
+		header.flip();
+		while(header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+	}
+
+	private static void readHeader(FileChannel channel, int symbolId, Interval interval) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		while(header.hasRemaining() && channel.read(header, header.position()) != -1) {
+			// Keep reading until the header is full
+		}
+		header.flip();
+		if(header.remaining() < HEADER_BYTES) {
+			throw new IOException("Not a candle archive: the file is too short");
+		}
+
+		byte[] magic = new byte[MAGIC.length];
+		header.get(magic);
+		if(!Arrays.equals(magic, MAGIC)) {
+			throw new IOException("Not a candle archive: wrong magic bytes");
+		}
+		short version = header.getShort();
+		short recordBytes = header.getShort();
+		if(version != VERSION || recordBytes != RECORD_BYTES) {
+			throw new IOException("Unsupported candle archive version " + version + " with " + recordBytes + "-byte records");
+		}
+
+		int archivedSymbolId = header.getInt();
+		byte[] name = new byte[INTERVAL_NAME_BYTES];
+		header.get(name);
+		String archivedInterval = new String(name, StandardCharsets.US_ASCII).trim();
+		if(archivedSymbolId != symbolId || !archivedInterval.equals(interval.name())) {
+			throw new IOException("The archive holds the " + archivedInterval + " candles of symbol ID " + archivedSymbolId
+					+ ", not the " + interval.name() + " candles of symbol ID " + symbolId);
+		}
+	}
+}
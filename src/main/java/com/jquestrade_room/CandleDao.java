@@ -0,0 +1,57 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.jquestrade_room.Candle.Interval;
+
+/** Room DAO for the {@code Candles} table, which stores {@link Candle} objects.
+ * Get one using {@link QuestradeDatabase#candleDao()}.
+ */
+@Dao
+public interface CandleDao {
+	
+	/** Inserts the given candles in a single transaction, replacing any candles with the same primary key.
+	 * @param candles The candles to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Candle... candles);
+	
+	/** Inserts the given candles in a single transaction, replacing any candles with the same primary key.
+	 * @param candles The candles to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Candle> candles);
+	
+	/** Returns every stored candle.
+	 * @return Every stored candle.
+	 */
+	@Query("SELECT * FROM Candles")
+	List<Candle> getAll();
+	
+	/** Deletes every stored candle. */
+	@Query("DELETE FROM Candles")
+	void deleteAll();
+	
+	/** Returns the stored candles of the given symbol, oldest first.
+	 * @param symbol The symbol/ticker.
+	 * @return The candles of the symbol.
+	 */
+	@Query("SELECT * FROM Candles WHERE symbol = :symbol ORDER BY symbolId, interval, startMillis")
+	List<Candle> getBySymbol(String symbol);
+	
+	/** Returns the stored candles of the given symbol and interval that start within the given time period, oldest first.
+	 * @param symbolId The internal symbol identifier.
+	 * @param interval The interval of the candles.
+	 * @param startMillis The beginning of the time period, in epoch milliseconds.
+	 * @param endMillis The end of the time period (inclusive), in epoch milliseconds.
+	 * @return The candles within the time period.
+	 */
+	@Query("SELECT * FROM Candles WHERE symbolId = :symbolId AND interval = :interval"
+			+ " AND startMillis >= :startMillis AND startMillis <= :endMillis ORDER BY startMillis")
+	List<Candle> get(int symbolId, Interval interval, long startMillis, long endMillis);
+}
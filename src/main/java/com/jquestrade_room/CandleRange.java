@@ -0,0 +1,62 @@
+package com.jquestrade_room;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+import com.jquestrade_room.Candle.Interval;
+
+/** Represents a time period for which every candle of a symbol and interval has been retrieved and stored.
+ * Used by {@link CandleStore} to know which parts of a query it still has to request from the API.
+ * Ranges of the same symbol and interval never overlap: {@code CandleStore} merges them as they grow.
+ */
+@Entity(
+	tableName = "CandleRanges",
+	primaryKeys = {
+			"symbolId",
+			"interval",
+			"startMillis"
+	}
+)
+public class CandleRange {
+
+	public CandleRange(int symbolId, Interval interval, long startMillis, long endMillis) {
+		this.symbolId = symbolId;
+		this.interval = interval;
+		this.startMillis = startMillis;
+		this.endMillis = endMillis;
+	}
+
+	private int symbolId;
+	@NonNull
+	private Interval interval;
+	private long startMillis;
+	private long endMillis;
+
+	/** Returns the internal symbol identifier of the candles.
+	 * @return The internal symbol identifier.
+	 */
+	public int getSymbolId() {
+		return symbolId;
+	}
+
+	/** Returns the interval of the candles.
+	 * @return The interval of the candles.
+	 */
+	public Interval getInterval() {
+		return interval;
+	}
+
+	/** Returns the beginning of the time period.
+	 * @return The beginning of the time period, in epoch milliseconds.
+	 */
+	public long getStartMillis() {
+		return startMillis;
+	}
+
+	/** Returns the end of the time period (inclusive).
+	 * @return The end of the time period, in epoch milliseconds.
+	 */
+	public long getEndMillis() {
+		return endMillis;
+	}
+}
@@ -0,0 +1,51 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.jquestrade_room.Candle.Interval;
+
+/** Room DAO for the {@code CandleRanges} table, which stores {@link CandleRange} objects.
+ * Get one using {@link QuestradeDatabase#candleRangeDao()}.
+ */
+@Dao
+public interface CandleRangeDao {
+
+	/** Inserts the given ranges in a single transaction, replacing any ranges with the same primary key.
+	 * @param candleRanges The ranges to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(CandleRange... candleRanges);
+
+	/** Deletes the given ranges.
+	 * @param candleRanges The ranges to delete.
+	 */
+	@Delete
+	void delete(List<CandleRange> candleRanges);
+
+	/** Returns the stored ranges of the given symbol and interval that overlap or touch the given time period, oldest first.
+	 * @param symbolId The internal symbol identifier.
+	 * @param interval The interval of the candles.
+	 * @param startMillis The beginning of the time period, in epoch milliseconds.
+	 * @param endMillis The end of the time period (inclusive), in epoch milliseconds.
+	 * @return The ranges that overlap or touch the time period.
+	 */
+	@Query("SELECT * FROM CandleRanges WHERE symbolId = :symbolId AND interval = :interval"
+			+ " AND endMillis >= :startMillis AND startMillis <= :endMillis ORDER BY startMillis")
+	List<CandleRange> getOverlapping(int symbolId, Interval interval, long startMillis, long endMillis);
+
+	/** Returns every stored range.
+	 * @return Every stored range.
+	 */
+	@Query("SELECT * FROM CandleRanges")
+	List<CandleRange> getAll();
+
+	/** Deletes every stored range. The candles themselves are kept, but will be requested again. */
+	@Query("DELETE FROM CandleRanges")
+	void deleteAll();
+}
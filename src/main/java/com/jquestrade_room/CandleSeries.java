@@ -0,0 +1,257 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+import com.google.gson.stream.JsonReader;
+import com.jquestrade_room.Candle.Interval;
+
+/** A series of candles of one symbol and interval, stored column by column in primitive arrays instead of as {@link Candle} objects.
+ * Timestamps are stored as epoch seconds. A candle takes 64 bytes, with no per-candle objects, so long histories take a fraction
+ * of the memory of a {@code Candle[]} and can be scanned as contiguous arrays.<br><br>
+ * Get one using {@link Questrade#getCandleSeries(int, java.time.ZonedDateTime, java.time.ZonedDateTime, Interval)}, which decodes
+ * the API response straight into the arrays, or convert a {@code Candle[]} using {@link #of(Candle[])}.<br><br>
+ * The array getters (e.g. {@link #getCloses()}) return the series' own arrays, without copying, so they must not be modified.
+ * Their length is the size of the series.
+ */
+public class CandleSeries {
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final int symbolId;
+
+	private final String symbol;
+
+	private final Interval interval;
+
+	private int size = 0;
+
+	private long[] starts;
+	private long[] ends;
+	private double[] opens;
+	private double[] highs;
+	private double[] lows;
+	private double[] closes;
+	private long[] volumes;
+	private double[] VWAPs;
+
+	CandleSeries(int symbolId, String symbol, Interval interval) {
+		this(symbolId, symbol, interval, INITIAL_CAPACITY);
+	}
+
+	private CandleSeries(int symbolId, String symbol, Interval interval, int capacity) {
+		this.symbolId = symbolId;
+		this.symbol = symbol;
+		this.interval = interval;
+		starts = new long[capacity];
+		ends = new long[capacity];
+		opens = new double[capacity];
+		highs = new double[capacity];
+		lows = new double[capacity];
+		closes = new double[capacity];
+		volumes = new long[capacity];
+		VWAPs = new double[capacity];
+	}
+
+	/** Converts the given candles into a series. The candles should belong to the same symbol and interval, and be in chronological order,
+	 * like the ones returned by {@link Questrade#getCandles(int, java.time.ZonedDateTime, java.time.ZonedDateTime, Interval)}.
+	 * @param candles The candles to convert.
+	 * @return A series holding the same data as the candles.
+	 */
+	public static CandleSeries of(Candle[] candles) {
+		Candle first = (candles.length > 0) ? candles[0] : null;
+		CandleSeries series = (first == null)
+				? new CandleSeries(0, null, null, 0)
+				: new CandleSeries(first.getSymbolId(), first.getSymbol(), first.getInterval(), candles.length);
+
+		for(Candle candle : candles) {
+			series.add(toEpochSecond(candle.getStart()), toEpochSecond(candle.getEnd()), candle.getOpen(), candle.getHigh(),
+					candle.getLow(), candle.getClose(), candle.getVolume(), candle.getVWAP());
+		}
+		return series;
+	}
+
+	/** Returns the internal symbol identifier of the candles.
+	 * @return The internal symbol identifier.
+	 */
+	public int getSymbolId() {
+		return symbolId;
+	}
+
+	/** Returns the symbol/ticker of the candles.
+	 * @return The symbol/ticker, or {@code null} if it isn't known.
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/** Returns the interval of the candles.
+	 * @return The interval of the candles, or {@code null} if it isn't known.
+	 */
+	public Interval getInterval() {
+		return interval;
+	}
+
+	/** Returns the number of candles in the series.
+	 * @return The number of candles.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/** Returns the start timestamps of the candles, in epoch seconds.
+	 * @return The start timestamps.
+	 */
+	public long[] getStarts() {
+		return starts;
+	}
+
+	/** Returns the end timestamps of the candles, in epoch seconds.
+	 * @return The end timestamps.
+	 */
+	public long[] getEnds() {
+		return ends;
+	}
+
+	/** Returns the opening prices of the candles.
+	 * @return The opening prices.
+	 */
+	public double[] getOpens() {
+		return opens;
+	}
+
+	/** Returns the highest prices of the candles.
+	 * @return The highest prices.
+	 */
+	public double[] getHighs() {
+		return highs;
+	}
+
+	/** Returns the lowest prices of the candles.
+	 * @return The lowest prices.
+	 */
+	public double[] getLows() {
+		return lows;
+	}
+
+	/** Returns the closing prices of the candles.
+	 * @return The closing prices.
+	 */
+	public double[] getCloses() {
+		return closes;
+	}
+
+	/** Returns the trading volumes of the candles.
+	 * @return The trading volumes.
+	 */
+	public long[] getVolumes() {
+		return volumes;
+	}
+
+	/** Returns the Volume Weighted Average Prices of the candles.
+	 * @return The VWAPs.
+	 */
+	public double[] getVWAPs() {
+		return VWAPs;
+	}
+
+	/** Returns the index of the candle that starts at the given time, using a binary search.
+	 * @param epochSecond The start timestamp, in epoch seconds.
+	 * @return The index of the candle, or {@code -(insertion point) - 1} if no candle starts at that time
+	 * (see {@link Arrays#binarySearch(long[], long)}).
+	 */
+	public int indexOf(long epochSecond) {
+		return Arrays.binarySearch(starts, 0, size, epochSecond);
+	}
+
+	/** Reads a candles response ({@code {"candles": [...]}}) straight into the arrays, without creating {@code Candle} objects.
+	 * Candles that don't start after the last candle of the series are skipped, so overlapping responses can be read one after another.
+	 */
+	void read(JsonReader reader) throws IOException {
+		reader.beginObject();
+		while(reader.hasNext()) {
+			if(!reader.nextName().equals("candles")) {
+				reader.skipValue();
+				continue;
+			}
+
+			reader.beginArray();
+			while(reader.hasNext()) {
+				readCandle(reader);
+			}
+			reader.endArray();
+		}
+		reader.endObject();
+	}
+
+	/** Reads one candle object and appends it. */
+	private void readCandle(JsonReader reader) throws IOException {
+		long start = 0;
+		long end = 0;
+		double open = 0;
+		double high = 0;
+		double low = 0;
+		double close = 0;
+		long volume = 0;
+		double VWAP = 0;
+
+		reader.beginObject();
+		while(reader.hasNext()) {
+			switch(reader.nextName()) {
+				case "start": start = toEpochSecond(Json.nextString(reader)); break;
+				case "end": end = toEpochSecond(Json.nextString(reader)); break;
+				case "open": open = Json.nextDouble(reader); break;
+				case "high": high = Json.nextDouble(reader); break;
+				case "low": low = Json.nextDouble(reader); break;
+				case "close": close = Json.nextDouble(reader); break;
+				case "volume": volume = Json.nextLong(reader); break;
+				case "VWAP": VWAP = Json.nextDouble(reader); break;
+				default: reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if(size == 0 || start > starts[size - 1]) {
+			add(start, end, open, high, low, close, volume, VWAP);
+		}
+	}
+
+	/** Appends a candle, growing the arrays if needed. */
+	void add(long start, long end, double open, double high, double low, double close, long volume, double VWAP) {
+		if(size == starts.length) {
+			resize(Math.max(INITIAL_CAPACITY, size * 2));
+		}
+		starts[size] = start;
+		ends[size] = end;
+		opens[size] = open;
+		highs[size] = high;
+		lows[size] = low;
+		closes[size] = close;
+		volumes[size] = volume;
+		VWAPs[size] = VWAP;
+		size++;
+	}
+
+	/** Shrinks the arrays to the number of candles, so that their length is the size of the series. */
+	void trimToSize() {
+		if(size != starts.length) {
+			resize(size);
+		}
+	}
+
+	private void resize(int capacity) {
+		starts = Arrays.copyOf(starts, capacity);
+		ends = Arrays.copyOf(ends, capacity);
+		opens = Arrays.copyOf(opens, capacity);
+		highs = Arrays.copyOf(highs, capacity);
+		lows = Arrays.copyOf(lows, capacity);
+		closes = Arrays.copyOf(closes, capacity);
+		volumes = Arrays.copyOf(volumes, capacity);
+		VWAPs = Arrays.copyOf(VWAPs, capacity);
+	}
+
+	private static long toEpochSecond(String isoTime) {
+		return (isoTime == null) ? 0 : OffsetDateTime.parse(isoTime).toEpochSecond();
+	}
+}
@@ -0,0 +1,151 @@
+package com.jquestrade_room;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jquestrade_room.Candle.Interval;
+
+/** A local store of historical candles, kept in a {@link QuestradeDatabase}. Candles are stored by symbol ID, interval and start time,
+ * and the time periods that have already been retrieved are recorded as {@link CandleRange}s.<br><br>
+ * When candles are requested, only the parts of the time period that aren't stored yet (the gaps) are requested from the API.
+ * The new candles and their ranges are stored, and then every candle is served from the database. Requesting the same history
+ * again makes no API requests at all, and extending it only requests the new part.<br><br>
+ * Candles that may still change (the current, incomplete interval) are stored, but their time period isn't recorded as retrieved,
+ * so they are requested again next time.<br><br>
+ * Example: {@code Candle[] candles = new CandleStore(q, db).getCandles(symbolId, startTime, endTime, Interval.OneDay);}
+ */
+public class CandleStore {
+
+	/** How many streamed candles are inserted per transaction while a gap is being retrieved. */
+	private static final int BATCH_SIZE = 5000;
+
+	private final Questrade questrade;
+
+	private final QuestradeDatabase database;
+
+	private final AtomicLong gapsRequested = new AtomicLong();
+
+	private final AtomicLong candlesRequested = new AtomicLong();
+
+	/** Creates a candle store.
+	 * @param questrade The {@code Questrade} object used to request missing candles.
+	 * @param database The database in which the candles are stored.
+	 */
+	public CandleStore(Questrade questrade, QuestradeDatabase database) {
+		if(questrade == null) {
+			throw new ArgumentException("questrade argument cannot be null");
+		}
+		if(database == null) {
+			throw new ArgumentException("database argument cannot be null");
+		}
+		this.questrade = questrade;
+		this.database = database;
+	}
+
+	/** Returns historical market data in the form of OHLC candlesticks for a specified symbol, requesting only the candles that aren't stored yet.
+	 * Same as {@link Questrade#getCandles(int, ZonedDateTime, ZonedDateTime, Interval)}, except that the time period can be of any length.
+	 * @param symbolId The internal symbol identifier.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for.
+	 * @param interval The time between the candles.
+	 * @return The candles that start within the given time period, oldest first.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 */
+	public Candle[] getCandles(int symbolId, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval) throws RefreshTokenException {
+		if(startTime.isAfter(endTime)) {
+			throw new TimeRangeException("The startTime must be earlier than the endTime.");
+		}
+
+		long startMillis = startTime.toInstant().toEpochMilli();
+		long endMillis = endTime.toInstant().toEpochMilli();
+
+		List<long[]> gaps = findGaps(symbolId, interval, startMillis, endMillis);
+		if(!gaps.isEmpty()) {
+			String symbol = questrade.resolveSymbol(symbolId);
+			for(long[] gap : gaps) {
+				fillGap(symbolId, symbol, interval, gap[0], gap[1], startTime.getZone());
+			}
+		}
+
+		return database.candleDao().get(symbolId, interval, startMillis, endMillis).toArray(new Candle[0]);
+	}
+
+	/** Returns how many gaps were requested from the API.
+	 * @return The number of gaps requested.
+	 */
+	public long getGapsRequested() {
+		return gapsRequested.get();
+	}
+
+	/** Returns how many candles were received from the API.
+	 * @return The number of candles received.
+	 */
+	public long getCandlesRequested() {
+		return candlesRequested.get();
+	}
+
+	/** Returns the parts of the given time period that aren't covered by a stored range, as {@code {startMillis, endMillis}} pairs. */
+	private List<long[]> findGaps(int symbolId, Interval interval, long startMillis, long endMillis) {
+		List<long[]> gaps = new ArrayList<>();
+		long covered = startMillis;
+		for(CandleRange range : database.candleRangeDao().getOverlapping(symbolId, interval, startMillis, endMillis)) {
+			if(range.getStartMillis() > covered) {
+				gaps.add(new long[] { covered, range.getStartMillis() });
+			}
+			covered = Math.max(covered, range.getEndMillis());
+		}
+		if(covered < endMillis) {
+			gaps.add(new long[] { covered, endMillis });
+		}
+		return gaps;
+	}
+
+	/** Requests the candles of a gap and stores them. The gap is recorded as retrieved only if every window of it was received. */
+	private void fillGap(int symbolId, String symbol, Interval interval, long startMillis, long endMillis, ZoneId zone) throws RefreshTokenException {
+		gapsRequested.incrementAndGet();
+
+		CandleDao candleDao = database.candleDao();
+		List<Candle> batch = new ArrayList<>();
+		boolean complete = questrade.streamCandles(symbolId, symbol, toZonedDateTime(startMillis, zone), toZonedDateTime(endMillis, zone), interval, candle -> {
+			candlesRequested.incrementAndGet();
+			batch.add(candle);
+			if(batch.size() >= BATCH_SIZE) {
+				candleDao.insert(batch);
+				batch.clear();
+			}
+		});
+
+		// Candles after this point may not be final yet
+		long settledMillis = interval.plus(ZonedDateTime.now(zone), -1).toInstant().toEpochMilli();
+		long coveredEndMillis = Math.min(endMillis, settledMillis);
+
+		database.runInTransaction(() -> {
+			candleDao.insert(batch);
+			if(complete && coveredEndMillis > startMillis) {
+				addRange(symbolId, interval, startMillis, coveredEndMillis);
+			}
+		});
+	}
+
+	/** Records the given time period as retrieved, merging it with the stored ranges that it overlaps or touches. */
+	private void addRange(int symbolId, Interval interval, long startMillis, long endMillis) {
+		CandleRangeDao candleRangeDao = database.candleRangeDao();
+		List<CandleRange> overlapping = candleRangeDao.getOverlapping(symbolId, interval, startMillis, endMillis);
+		for(CandleRange range : overlapping) {
+			startMillis = Math.min(startMillis, range.getStartMillis());
+			endMillis = Math.max(endMillis, range.getEndMillis());
+		}
+		candleRangeDao.delete(overlapping);
+		candleRangeDao.insert(new CandleRange(symbolId, interval, startMillis, endMillis));
+	}
+
+	private static ZonedDateTime toZonedDateTime(long epochMillis, ZoneId zone) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+	}
+}
@@ -0,0 +1,68 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/** Reflection-free type adapter for {@link Candle}. */
+final class CandleTypeAdapter extends TypeAdapter<Candle> {
+
+	@Override
+	public void write(JsonWriter out, Candle candle) throws IOException {
+		if(candle == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("start").value(candle.getStart());
+		out.name("end").value(candle.getEnd());
+		out.name("low").value(candle.getLow());
+		out.name("high").value(candle.getHigh());
+		out.name("open").value(candle.getOpen());
+		out.name("close").value(candle.getClose());
+		out.name("volume").value(candle.getVolume());
+		out.name("VWAP").value(candle.getVWAP());
+		out.name("symbol").value(candle.getSymbol());
+		out.endObject();
+	}
+
+	@Override
+	public Candle read(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		String start = null;
+		String end = null;
+		double low = 0;
+		double high = 0;
+		double open = 0;
+		double close = 0;
+		int volume = 0;
+		double VWAP = 0;
+		String symbol = null;
+
+		in.beginObject();
+		while(in.hasNext()) {
+			switch(in.nextName()) {
+				case "start": start = Json.nextString(in); break;
+				case "end": end = Json.nextString(in); break;
+				case "low": low = Json.nextDouble(in); break;
+				case "high": high = Json.nextDouble(in); break;
+				case "open": open = Json.nextDouble(in); break;
+				case "close": close = Json.nextDouble(in); break;
+				case "volume": volume = Json.nextInt(in); break;
+				case "VWAP": VWAP = Json.nextDouble(in); break;
+				case "symbol": symbol = Json.nextString(in); break;
+				default: in.skipValue();
+			}
+		}
+		in.endObject();
+
+		return new Candle(start, end, low, high, open, close, volume, VWAP, symbol);
+	}
+}
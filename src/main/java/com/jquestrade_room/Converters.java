@@ -0,0 +1,192 @@
+package com.jquestrade_room;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.regex.Pattern;
+
+import androidx.room.TypeConverter;
+
+/** Room type converters for the entity fields that SQLite can't store directly.
+ * Registered on {@link QuestradeDatabase}. Room requires the converter methods to be public.<br><br>
+ * The encodings are kept small, since these columns are repeated in every row of the history tables:
+ * <ul>
+ * <li>{@code ZonedDateTime} is stored as epoch milliseconds, so it can be indexed and compared as a number.
+ * It is read back in the system default time zone.</li>
+ * <li>{@code String[]} is stored as text, with the elements separated by {@link #SEPARATOR}.</li>
+ * <li>{@code Balance[]} and {@code MinTick[]} are stored as binary blobs of their fields.</li>
+ * <li>{@code Candle.Interval} is stored as its name.</li>
+ * <li>{@code Object} and {@code Object[]}, whose contents are unknown, are stored as JSON text.</li>
+ * </ul>
+ */
+final class Converters {
+
+	private Converters() {}
+
+	/** Separates the elements of a stored {@code String[]}. The ASCII unit separator doesn't appear in API values. */
+	static final char SEPARATOR = '\u001F';
+
+	private static final Pattern SEPARATOR_PATTERN = Pattern.compile(String.valueOf(SEPARATOR), Pattern.LITERAL);
+
+	/** The size of a stored {@code Balance} without its currency: five doubles and a boolean. */
+	private static final int BALANCE_BYTES = 5 * Double.BYTES + 1;
+
+	/** The size of a stored {@code MinTick}: two doubles. */
+	private static final int MIN_TICK_BYTES = 2 * Double.BYTES;
+
+	@TypeConverter
+	public static Long fromZonedDateTime(ZonedDateTime time) {
+		return (time == null) ? null : time.toInstant().toEpochMilli();
+	}
+
+	@TypeConverter
+	public static ZonedDateTime toZonedDateTime(Long epochMillis) {
+		return (epochMillis == null) ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+	}
+
+	/** Null elements are stored as empty strings. An empty array is stored as an empty string, so it can't be told apart from {@code {""}}. */
+	@TypeConverter
+	public static String fromStringArray(String[] strings) {
+		if(strings == null) {
+			return null;
+		}
+
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < strings.length; i++) {
+			if(i > 0) {
+				builder.append(SEPARATOR);
+			}
+			if(strings[i] != null) {
+				builder.append(strings[i]);
+			}
+		}
+		return builder.toString();
+	}
+
+	@TypeConverter
+	public static String[] toStringArray(String joined) {
+		if(joined == null) {
+			return null;
+		}
+		return joined.isEmpty() ? new String[0] : SEPARATOR_PATTERN.split(joined, -1);
+	}
+
+	/** Stores the number of balances, then for each balance its currency (as a length-prefixed UTF-8 string, -1 if {@code null})
+	 * followed by its numeric fields.
+	 */
+	@TypeConverter
+	public static byte[] fromBalanceArray(Balance[] balances) {
+		if(balances == null) {
+			return null;
+		}
+
+		byte[][] currencies = new byte[balances.length][];
+		int size = Integer.BYTES;
+		for(int i = 0; i < balances.length; i++) {
+			String currency = balances[i].getCurrency();
+			currencies[i] = (currency == null) ? null : currency.getBytes(StandardCharsets.UTF_8);
+			size += Short.BYTES + ((currencies[i] == null) ? 0 : currencies[i].length) + BALANCE_BYTES;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(balances.length);
+		for(int i = 0; i < balances.length; i++) {
+			Balance balance = balances[i];
+			if(currencies[i] == null) {
+				buffer.putShort((short) -1);
+			} else {
+				buffer.putShort((short) currencies[i].length);
+				buffer.put(currencies[i]);
+			}
+			buffer.putDouble(balance.getCash());
+			buffer.putDouble(balance.getMarketValue());
+			buffer.putDouble(balance.getTotalEquity());
+			buffer.putDouble(balance.getBuyingPower());
+			buffer.putDouble(balance.getMaintenanceExcess());
+			buffer.put((byte) (balance.isRealTime() ? 1 : 0));
+		}
+		return buffer.array();
+	}
+
+	@TypeConverter
+	public static Balance[] toBalanceArray(byte[] bytes) {
+		if(bytes == null) {
+			return null;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		Balance[] balances = new Balance[buffer.getInt()];
+		for(int i = 0; i < balances.length; i++) {
+			String currency = null;
+			short length = buffer.getShort();
+			if(length >= 0) {
+				currency = new String(bytes, buffer.position(), length, StandardCharsets.UTF_8);
+				buffer.position(buffer.position() + length);
+			}
+			balances[i] = new Balance(currency, buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+					buffer.getDouble(), buffer.getDouble(), buffer.get() != 0);
+		}
+		return balances;
+	}
+
+	/** Stores the pivot and min tick of each {@code MinTick}, one after the other. */
+	@TypeConverter
+	public static byte[] fromMinTickArray(SymbolInfo.MinTick[] minTicks) {
+		if(minTicks == null) {
+			return null;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(minTicks.length * MIN_TICK_BYTES);
+		for(SymbolInfo.MinTick minTick : minTicks) {
+			buffer.putDouble(minTick.getPivot());
+			buffer.putDouble(minTick.getMinTick());
+		}
+		return buffer.array();
+	}
+
+	@TypeConverter
+	public static SymbolInfo.MinTick[] toMinTickArray(byte[] bytes) {
+		if(bytes == null) {
+			return null;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		SymbolInfo.MinTick[] minTicks = new SymbolInfo.MinTick[bytes.length / MIN_TICK_BYTES];
+		for(int i = 0; i < minTicks.length; i++) {
+			minTicks[i] = new SymbolInfo.MinTick(buffer.getDouble(), buffer.getDouble());
+		}
+		return minTicks;
+	}
+
+	@TypeConverter
+	public static String fromInterval(Candle.Interval interval) {
+		return (interval == null) ? null : interval.name();
+	}
+
+	@TypeConverter
+	public static Candle.Interval toInterval(String name) {
+		return (name == null) ? null : Candle.Interval.valueOf(name);
+	}
+
+	@TypeConverter
+	public static String fromObject(Object object) {
+		return Json.GSON.toJson(object);
+	}
+
+	@TypeConverter
+	public static Object toObject(String json) {
+		return Json.GSON.fromJson(json, Object.class);
+	}
+
+	@TypeConverter
+	public static String fromObjectArray(Object[] objects) {
+		return Json.GSON.toJson(objects);
+	}
+
+	@TypeConverter
+	public static Object[] toObjectArray(String json) {
+		return Json.GSON.fromJson(json, Object[].class);
+	}
+}
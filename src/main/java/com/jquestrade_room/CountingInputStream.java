@@ -0,0 +1,65 @@
+package com.jquestrade_room;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/** An input stream that counts the bytes read through it and the time spent blocked reading them.
+ * Used to measure responses for {@link RequestMetrics} and {@link RequestInterceptor}s.
+ */
+class CountingInputStream extends FilterInputStream {
+
+	private long count = 0;
+
+	private long readNanos = 0;
+
+	CountingInputStream(InputStream in) {
+		super(in);
+	}
+
+	/** Returns the number of bytes read so far. */
+	long getCount() {
+		return count;
+	}
+
+	/** Returns the time spent in the read methods so far, in nanoseconds. */
+	long getReadNanos() {
+		return readNanos;
+	}
+
+	@Override
+	public int read() throws IOException {
+		long start = System.nanoTime();
+		int b = super.read();
+		readNanos += System.nanoTime() - start;
+		if(b != -1) {
+			count++;
+		}
+		return b;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		long start = System.nanoTime();
+		int read = super.read(buffer, offset, length);
+		readNanos += System.nanoTime() - start;
+		if(read > 0) {
+			count += read;
+		}
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long start = System.nanoTime();
+		long skipped = super.skip(n);
+		readNanos += System.nanoTime() - start;
+		count += skipped;
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+}
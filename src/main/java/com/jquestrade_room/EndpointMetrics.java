@@ -0,0 +1,114 @@
+package com.jquestrade_room;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** The metrics of one API endpoint, e.g. {@code v1/accounts/:id/orders}. Get them from {@link RequestMetrics}. */
+public class EndpointMetrics {
+
+	private final String endpoint;
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong bytesReceived = new AtomicLong();
+
+	private final AtomicLong retries = new AtomicLong();
+
+	private final Map<Integer, AtomicLong> errors = new ConcurrentHashMap<>();
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	EndpointMetrics(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	/** Returns the endpoint, with every ID in the path replaced by {@code :id}.
+	 * @return The endpoint. (Eg: {@code v1/markets/candles/:id})
+	 */
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	/** Returns how many requests were sent to the endpoint, including failed ones and retries.
+	 * @return The number of requests.
+	 */
+	public long getRequestCount() {
+		return requests.get();
+	}
+
+	/** Returns how many requests to the endpoint failed.
+	 * @return The number of failed requests.
+	 */
+	public long getErrorCount() {
+		long total = 0;
+		for(AtomicLong count : errors.values()) {
+			total += count.get();
+		}
+		return total;
+	}
+
+	/** Returns how many requests to the endpoint failed, by error code. The code is the Questrade error code
+	 * (e.g. 1017 for an expired access token), or the HTTP status code if the response had no error code,
+	 * or 0 if no response was received.
+	 * @return The number of failed requests, by error code.
+	 */
+	public Map<Integer, Long> getErrorCounts() {
+		Map<Integer, Long> counts = new TreeMap<>();
+		for(Map.Entry<Integer, AtomicLong> error : errors.entrySet()) {
+			counts.put(error.getKey(), error.getValue().get());
+		}
+		return counts;
+	}
+
+	/** Returns how many requests to the endpoint were sent again after the access token was refreshed.
+	 * @return The number of retries.
+	 */
+	public long getRetryCount() {
+		return retries.get();
+	}
+
+	/** Returns how many bytes of response bodies were received from the endpoint.
+	 * @return The number of bytes received.
+	 */
+	public long getBytesReceived() {
+		return bytesReceived.get();
+	}
+
+	/** Returns the latencies of the requests to the endpoint, from sending the request until the response was read and decoded.
+	 * @return The latency histogram.
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	void recordRequest(long latencyNanos, long bytes) {
+		requests.incrementAndGet();
+		bytesReceived.addAndGet(bytes);
+		latency.record(latencyNanos);
+	}
+
+	void recordError(int code) {
+		AtomicLong count = errors.get(code);
+		if(count == null) {
+			AtomicLong created = new AtomicLong();
+			count = errors.putIfAbsent(code, created);
+			if(count == null) {
+				count = created;
+			}
+		}
+		count.incrementAndGet();
+	}
+
+	void recordRetry() {
+		retries.incrementAndGet();
+	}
+
+	@Override
+	public String toString() {
+		return endpoint + ": " + requests.get() + " requests, " + getErrorCount() + " errors " + getErrorCounts()
+				+ ", " + retries.get() + " retries, " + bytesReceived.get() + " bytes, p50/p99/p999 "
+				+ latency.getP50() / 1000 + "/" + latency.getP99() / 1000 + "/" + latency.getP999() / 1000 + " us";
+	}
+}
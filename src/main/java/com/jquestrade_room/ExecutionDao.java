@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Executions} table, which stores {@link Execution} objects.
+ * Get one using {@link QuestradeDatabase#executionDao()}.
+ */
+@Dao
+public interface ExecutionDao {
+	
+	/** Inserts the given executions in a single transaction, replacing any executions with the same primary key.
+	 * @param executions The executions to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Execution... executions);
+	
+	/** Inserts the given executions in a single transaction, replacing any executions with the same primary key.
+	 * @param executions The executions to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Execution> executions);
+	
+	/** Returns every stored execution.
+	 * @return Every stored execution.
+	 */
+	@Query("SELECT * FROM Executions")
+	List<Execution> getAll();
+	
+	/** Deletes every stored execution. */
+	@Query("DELETE FROM Executions")
+	void deleteAll();
+	
+	/** Returns the stored executions of the given order.
+	 * @param orderId The order ID.
+	 * @return The executions of the order.
+	 */
+	@Query("SELECT * FROM Executions WHERE orderId = :orderId")
+	List<Execution> getByOrderId(int orderId);
+}
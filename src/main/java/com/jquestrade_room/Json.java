@@ -0,0 +1,109 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/** Holds the {@code Gson} instance shared by every {@link Questrade} object, and helper methods for the hand-written type adapters.
+ * {@code Gson} is thread-safe and caches the type adapters it creates, so creating a new one per request would throw that cache away.
+ */
+final class Json {
+
+	private Json() {}
+
+	/** The shared {@code Gson} instance. The most frequently-parsed objects use hand-written type adapters instead of reflection. */
+	static final Gson GSON = new GsonBuilder()
+			.registerTypeAdapter(Quote.class, new QuoteTypeAdapter())
+			.registerTypeAdapter(Candle.class, new CandleTypeAdapter())
+			.registerTypeAdapter(Position.class, new PositionTypeAdapter())
+			.registerTypeAdapter(Order.class, new OrderTypeAdapter())
+			.registerTypeAdapter(Balance.class, new BalanceTypeAdapter())
+			.registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeTypeAdapter())
+			.create();
+
+	/** Reads a string, or {@code null} if the value is {@code null}. */
+	static String nextString(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return in.nextString();
+	}
+
+	/** Reads a double, or {@code 0} if the value is {@code null}. */
+	static double nextDouble(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return 0;
+		}
+		return in.nextDouble();
+	}
+
+	/** Reads an int, or {@code 0} if the value is {@code null}. */
+	static int nextInt(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return 0;
+		}
+		return in.nextInt();
+	}
+
+	/** Reads a long, or {@code 0} if the value is {@code null}. */
+	static long nextLong(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return 0;
+		}
+		return in.nextLong();
+	}
+
+	/** Reads a boolean, or {@code false} if the value is {@code null}. */
+	static boolean nextBoolean(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return false;
+		}
+		return in.nextBoolean();
+	}
+
+	/** Reads an {@code Integer}, which may be {@code null}. */
+	static Integer nextNullableInt(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return in.nextInt();
+	}
+
+	/** Reads a {@code Double}, which may be {@code null}. */
+	static Double nextNullableDouble(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return in.nextDouble();
+	}
+
+	/** Serializes and deserializes {@code ZonedDateTime} objects as ISO 8601 strings. Without this, {@code Gson} would try
+	 * to reflect into {@code ZonedDateTime}'s private fields, which newer JVMs don't allow.
+	 */
+	static final class ZonedDateTimeTypeAdapter extends TypeAdapter<ZonedDateTime> {
+
+		@Override
+		public void write(JsonWriter out, ZonedDateTime value) throws IOException {
+			out.value((value != null) ? value.toString() : null);
+		}
+
+		@Override
+		public ZonedDateTime read(JsonReader in) throws IOException {
+			String value = nextString(in);
+			return (value != null) ? ZonedDateTime.parse(value) : null;
+		}
+	}
+}
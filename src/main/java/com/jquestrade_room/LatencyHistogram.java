@@ -0,0 +1,130 @@
+package com.jquestrade_room;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** A histogram of latencies in nanoseconds, from which percentiles can be read. Safe to record into from several threads.<br><br>
+ * Values are counted in buckets instead of being stored: every power of two is split into {@value #SUB_BUCKETS} equal buckets,
+ * so a percentile is within about 6% of the exact value, and the histogram takes the same few kilobytes no matter how many
+ * values are recorded.
+ */
+public class LatencyHistogram {
+
+	/** The number of buckets per power of two. */
+	private static final int SUB_BUCKETS = 16;
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong sum = new AtomicLong();
+
+	private final AtomicLong max = new AtomicLong();
+
+	/** Records a latency. */
+	void record(long nanos) {
+		if(nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(indexOf(nanos));
+		count.incrementAndGet();
+		sum.addAndGet(nanos);
+		max.accumulateAndGet(nanos, Math::max);
+	}
+
+	/** Returns how many latencies were recorded.
+	 * @return The number of latencies.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/** Returns the mean latency.
+	 * @return The mean latency in nanoseconds, or 0 if none were recorded.
+	 */
+	public long getMean() {
+		long n = count.get();
+		return (n == 0) ? 0 : sum.get() / n;
+	}
+
+	/** Returns the highest latency.
+	 * @return The highest latency in nanoseconds, or 0 if none were recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/** Returns the latency below which the given percentage of the latencies fall.
+	 * @param percentile The percentage, from 0 to 100. (Eg: {@code 99.9})
+	 * @return The latency in nanoseconds, or 0 if none were recorded.
+	 */
+	public long getPercentile(double percentile) {
+		if(percentile < 0 || percentile > 100) {
+			throw new ArgumentException("percentile argument must be between 0 and 100");
+		}
+
+		long total = 0;
+		long[] snapshot = new long[counts.length()];
+		for(int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if(total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for(int i = 0; i < snapshot.length; i++) {
+			seen += snapshot[i];
+			if(seen >= rank) {
+				return Math.min(upperBoundOf(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/** Returns the median latency. Same as {@code getPercentile(50)}.
+	 * @return The median latency in nanoseconds.
+	 */
+	public long getP50() {
+		return getPercentile(50);
+	}
+
+	/** Returns the 99th percentile latency. Same as {@code getPercentile(99)}.
+	 * @return The 99th percentile latency in nanoseconds.
+	 */
+	public long getP99() {
+		return getPercentile(99);
+	}
+
+	/** Returns the 99.9th percentile latency. Same as {@code getPercentile(99.9)}.
+	 * @return The 99.9th percentile latency in nanoseconds.
+	 */
+	public long getP999() {
+		return getPercentile(99.9);
+	}
+
+	/** Returns the bucket of the given value. Values below {@link #SUB_BUCKETS} get a bucket each. */
+	private static int indexOf(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/** Returns the highest value that falls in the given bucket. */
+	private static long upperBoundOf(int index) {
+		if(index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = index % SUB_BUCKETS;
+		long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+		return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+}
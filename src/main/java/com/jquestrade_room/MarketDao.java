@@ -0,0 +1,54 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+/** Room DAO for the {@code Markets} table, which stores {@link Market} objects.
+ * Get one using {@link QuestradeDatabase#marketDao()}.
+ */
+@Dao
+public interface MarketDao {
+	
+	/** Inserts the given markets in a single transaction, replacing any markets with the same primary key.
+	 * @param markets The markets to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Market... markets);
+	
+	/** Inserts the given markets in a single transaction, replacing any markets with the same primary key.
+	 * @param markets The markets to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Market> markets);
+	
+	/** Returns every stored market.
+	 * @return Every stored market.
+	 */
+	@Query("SELECT * FROM Markets")
+	List<Market> getAll();
+	
+	/** Deletes every stored market. */
+	@Query("DELETE FROM Markets")
+	void deleteAll();
+	
+	/** Returns the market with the given name.
+	 * @param name The name of the market.
+	 * @return The market, or {@code null} if it isn't stored.
+	 */
+	@Query("SELECT * FROM Markets WHERE name = :name")
+	Market get(String name);
+	
+	/** Replaces every stored market with the given markets, in a single transaction.
+	 * @param markets The markets to store.
+	 */
+	@Transaction
+	default void replaceAll(List<Market> markets) {
+		deleteAll();
+		insert(markets);
+	}
+}
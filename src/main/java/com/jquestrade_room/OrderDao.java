@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Orders} table, which stores {@link Order} objects.
+ * Get one using {@link QuestradeDatabase#orderDao()}.
+ */
+@Dao
+public interface OrderDao {
+	
+	/** Inserts the given orders in a single transaction, replacing any orders with the same primary key.
+	 * @param orders The orders to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Order... orders);
+	
+	/** Inserts the given orders in a single transaction, replacing any orders with the same primary key.
+	 * @param orders The orders to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Order> orders);
+	
+	/** Returns every stored order.
+	 * @return Every stored order.
+	 */
+	@Query("SELECT * FROM Orders")
+	List<Order> getAll();
+	
+	/** Deletes every stored order. */
+	@Query("DELETE FROM Orders")
+	void deleteAll();
+	
+	/** Returns the stored order with the given ID.
+	 * @param id The order ID.
+	 * @return The order, or {@code null} if it isn't stored.
+	 */
+	@Query("SELECT * FROM Orders WHERE id = :id")
+	Order get(int id);
+}
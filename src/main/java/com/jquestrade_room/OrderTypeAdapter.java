@@ -0,0 +1,174 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/** Reflection-free type adapter for {@link Order}. */
+final class OrderTypeAdapter extends TypeAdapter<Order> {
+
+	@Override
+	@SuppressWarnings("deprecation") // getLegs() is deprecated for users, but the legs are still written
+	public void write(JsonWriter out, Order order) throws IOException {
+		if(order == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("id").value(order.getId());
+		out.name("symbol").value(order.getSymbol());
+		out.name("symbolId").value(order.getSymbolId());
+		out.name("totalQuantity").value(order.getTotalQuantity());
+		out.name("openQuantity").value(order.getOpenQuantity());
+		out.name("filledQuantity").value(order.getFilledQuantity());
+		out.name("side").value(order.getSide());
+		out.name("orderType").value(order.getOrderType());
+		out.name("limitPrice").value(order.getLimitPrice());
+		out.name("stopPrice").value(order.getStopPrice());
+		out.name("isAllOrNone").value(order.isAllOrNone());
+		out.name("isAnonoymous").value(order.isAnonoymous());
+		out.name("icebergQuantity").value(order.getIcebergQuantity());
+		out.name("minQuantity").value(order.getMinQuantity());
+		out.name("avgExecPrice").value(order.getAvgExecPrice());
+		out.name("lastExecPrice").value(order.getLastExecPrice());
+		out.name("source").value(order.getSource());
+		out.name("timeInForce").value(order.getTimeInForce());
+		out.name("gtdDate").value(order.getGtdDate());
+		out.name("state").value(order.getState());
+		out.name("rejectionReason").value(order.getRejectionReason());
+		out.name("chainId").value(order.getChainId());
+		out.name("creationTime").value(order.getCreationTime());
+		out.name("updateTime").value(order.getUpdateTime());
+		out.name("notes").value(order.getNotes());
+		out.name("primaryRoute").value(order.getPrimaryRoute());
+		out.name("secondaryRoute").value(order.getSecondaryRoute());
+		out.name("orderRoute").value(order.getOrderRoute());
+		out.name("venueHoldingOrder").value(order.getVenueHoldingOrder());
+		out.name("comissionCharged").value(order.getComissionCharged());
+		out.name("exchangeOrderId").value(order.getExchangeOrderId());
+		out.name("isSignificantShareHolder").value(order.isSignificantShareHolder());
+		out.name("isInsider").value(order.isInsider());
+		out.name("isLimitOffsetInDollar").value(order.isLimitOffsetInDollar());
+		out.name("userId").value(order.getUserId());
+		out.name("placementCommission").value(order.getPlacementCommission());
+		out.name("legs");
+		Json.GSON.getAdapter(Object[].class).write(out, order.getLegs());
+		out.name("strategyType").value(order.getStrategyType());
+		out.name("triggerStopPrice").value(order.getTriggerStopPrice());
+		out.name("orderGroupId").value(order.getOrderGroupId());
+		out.name("orderClass").value(order.getOrderClass());
+		out.name("isCrossZero").value(order.isCrossZero());
+		out.endObject();
+	}
+
+	@Override
+	public Order read(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		int id = 0;
+		String symbol = null;
+		int symbolId = 0;
+		int totalQuantity = 0;
+		int openQuantity = 0;
+		Integer filledQuantity = null;
+		String side = null;
+		String orderType = null;
+		double limitPrice = 0;
+		Double stopPrice = null;
+		boolean isAllOrNone = false;
+		boolean isAnonoymous = false;
+		Integer icebergQuantity = null;
+		Integer minQuantity = null;
+		Double avgExecPrice = null;
+		Double lastExecPrice = null;
+		String source = null;
+		String timeInForce = null;
+		String gtdDate = null;
+		String state = null;
+		String rejectionReason = null;
+		int chainId = 0;
+		String creationTime = null;
+		String updateTime = null;
+		String notes = null;
+		String primaryRoute = null;
+		String secondaryRoute = null;
+		String orderRoute = null;
+		String venueHoldingOrder = null;
+		Double comissionCharged = null;
+		String exchangeOrderId = null;
+		boolean isSignificantShareHolder = false;
+		boolean isInsider = false;
+		boolean isLimitOffsetInDollar = false;
+		int userId = 0;
+		Double placementCommission = null;
+		Object[] legs = null;
+		String strategyType = null;
+		Double triggerStopPrice = null;
+		int orderGroupId = 0;
+		String orderClass = null;
+		boolean isCrossZero = false;
+
+		in.beginObject();
+		while(in.hasNext()) {
+			switch(in.nextName()) {
+				case "id": id = Json.nextInt(in); break;
+				case "symbol": symbol = Json.nextString(in); break;
+				case "symbolId": symbolId = Json.nextInt(in); break;
+				case "totalQuantity": totalQuantity = Json.nextInt(in); break;
+				case "openQuantity": openQuantity = Json.nextInt(in); break;
+				case "filledQuantity": filledQuantity = Json.nextNullableInt(in); break;
+				case "side": side = Json.nextString(in); break;
+				case "orderType": orderType = Json.nextString(in); break;
+				case "limitPrice": limitPrice = Json.nextDouble(in); break;
+				case "stopPrice": stopPrice = Json.nextNullableDouble(in); break;
+				case "isAllOrNone": isAllOrNone = Json.nextBoolean(in); break;
+				case "isAnonoymous": isAnonoymous = Json.nextBoolean(in); break;
+				case "icebergQuantity": icebergQuantity = Json.nextNullableInt(in); break;
+				case "minQuantity": minQuantity = Json.nextNullableInt(in); break;
+				case "avgExecPrice": avgExecPrice = Json.nextNullableDouble(in); break;
+				case "lastExecPrice": lastExecPrice = Json.nextNullableDouble(in); break;
+				case "source": source = Json.nextString(in); break;
+				case "timeInForce": timeInForce = Json.nextString(in); break;
+				case "gtdDate": gtdDate = Json.nextString(in); break;
+				case "state": state = Json.nextString(in); break;
+				case "rejectionReason": rejectionReason = Json.nextString(in); break;
+				case "chainId": chainId = Json.nextInt(in); break;
+				case "creationTime": creationTime = Json.nextString(in); break;
+				case "updateTime": updateTime = Json.nextString(in); break;
+				case "notes": notes = Json.nextString(in); break;
+				case "primaryRoute": primaryRoute = Json.nextString(in); break;
+				case "secondaryRoute": secondaryRoute = Json.nextString(in); break;
+				case "orderRoute": orderRoute = Json.nextString(in); break;
+				case "venueHoldingOrder": venueHoldingOrder = Json.nextString(in); break;
+				case "comissionCharged": comissionCharged = Json.nextNullableDouble(in); break;
+				case "exchangeOrderId": exchangeOrderId = Json.nextString(in); break;
+				case "isSignificantShareHolder": isSignificantShareHolder = Json.nextBoolean(in); break;
+				case "isInsider": isInsider = Json.nextBoolean(in); break;
+				case "isLimitOffsetInDollar": isLimitOffsetInDollar = Json.nextBoolean(in); break;
+				case "userId": userId = Json.nextInt(in); break;
+				case "placementCommission": placementCommission = Json.nextNullableDouble(in); break;
+				case "legs": legs = Json.GSON.getAdapter(Object[].class).read(in); break;
+				case "strategyType": strategyType = Json.nextString(in); break;
+				case "triggerStopPrice": triggerStopPrice = Json.nextNullableDouble(in); break;
+				case "orderGroupId": orderGroupId = Json.nextInt(in); break;
+				case "orderClass": orderClass = Json.nextString(in); break;
+				case "isCrossZero": isCrossZero = Json.nextBoolean(in); break;
+				default: in.skipValue();
+			}
+		}
+		in.endObject();
+
+		return new Order(id, symbol, symbolId, totalQuantity, openQuantity, filledQuantity, side, orderType, limitPrice, stopPrice,
+				isAllOrNone, isAnonoymous, icebergQuantity, minQuantity, avgExecPrice, lastExecPrice, source, timeInForce,
+				gtdDate, state, rejectionReason, chainId, creationTime, updateTime, notes, primaryRoute, secondaryRoute,
+				orderRoute, venueHoldingOrder, comissionCharged, exchangeOrderId, isSignificantShareHolder, isInsider,
+				isLimitOffsetInDollar, userId, placementCommission, legs, strategyType, triggerStopPrice, orderGroupId,
+				orderClass, isCrossZero);
+	}
+}
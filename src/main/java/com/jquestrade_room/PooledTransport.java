@@ -0,0 +1,250 @@
+package com.jquestrade_room;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+/** The default {@link Transport}. Sends requests over persistent (keep-alive) HTTP/1.1 connections, so that
+ * consecutive requests to the same API server skip the TCP and TLS handshakes.<br><br>
+ * This class doesn't hold the idle connections itself: they are kept by the JVM's HTTP keep-alive cache, which holds up to
+ * {@code http.maxConnections} (default 5) idle connections per server. What this class does is make connections reusable,
+ * by reading the rest of every response body when it is closed, and limit the requests in flight to {@code maxConnections}.
+ * Further requests wait until a response is closed, so a thread mustn't send another request while holding a response open:
+ * once every connection is held that way, it would wait forever. {@code http.maxConnections} should be at least {@code maxConnections},
+ * or the connections beyond it are closed once idle.<br><br>
+ * Whether a request reused a connection is measured by counting the TLS sockets opened for HTTPS requests,
+ * see {@link #getPoolHits()} and {@link #getPoolMisses()}.<br><br>
+ * Since every request goes through the transport, {@code maxConnections} also caps the concurrency of
+ * {@link Questrade#getSnapshot(String[], java.time.ZonedDateTime, java.time.ZonedDateTime)}, {@link AsyncQuestrade}
+ * and {@link QuotePoller}, whatever their own settings.
+ */
+public class PooledTransport implements Transport {
+
+	/** The default maximum number of concurrent connections. Matches the JVM's default keep-alive cache size. */
+	public static final int DEFAULT_MAX_CONNECTIONS = 5;
+
+	/** The largest leftover body that will be read to free up a connection. Bigger leftovers close the connection instead. */
+	private static final int MAX_DRAIN_BYTES = 64 * 1024;
+
+	private final int maxConnections;
+
+	private final Semaphore permits;
+
+	/** The number of HTTPS requests sent. */
+	private final AtomicLong httpsRequests = new AtomicLong();
+
+	/** Counts the TLS sockets opened for HTTPS requests. Replaced when the JVM's default socket factory changes. */
+	private volatile CountingSocketFactory socketFactory;
+
+	/** Creates a transport with {@link #DEFAULT_MAX_CONNECTIONS} connections. */
+	public PooledTransport() {
+		this(DEFAULT_MAX_CONNECTIONS);
+	}
+
+	/** Creates a transport with the given maximum number of concurrent connections.
+	 * @param maxConnections The maximum number of requests in flight at once.
+	 */
+	public PooledTransport(int maxConnections) {
+		if(maxConnections < 1) {
+			throw new ArgumentException("maxConnections argument cannot be less than 1");
+		}
+		this.maxConnections = maxConnections;
+		this.permits = new Semaphore(maxConnections, true);
+	}
+
+	@Override
+	public Response send(Request request) throws IOException {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a connection", e);
+		}
+
+		HttpURLConnection connection = null;
+		try {
+			connection = request.getConnection();
+			if(connection instanceof HttpsURLConnection) {
+				// The same factory must be set every time, since it is part of the key of kept-alive connections
+				((HttpsURLConnection) connection).setSSLSocketFactory(getSocketFactory());
+				httpsRequests.incrementAndGet();
+			}
+			int statusCode = connection.getResponseCode();
+
+			// Response codes in the 200s are "successful"
+			InputStream body = (statusCode > 299 || statusCode < 200) ? connection.getErrorStream() : connection.getInputStream();
+			if(body == null) {
+				body = new ByteArrayInputStream(new byte[0]);
+			}
+
+			return new Response(statusCode, connection.getHeaderFields(), new PooledInputStream(body, connection));
+		} catch (IOException | RuntimeException e) {
+			if(connection != null) {
+				connection.disconnect();
+			}
+			permits.release();
+			throw e;
+		}
+	}
+
+	/** Returns the maximum number of concurrent connections.
+	 * @return The maximum number of concurrent connections.
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/** Returns how many HTTPS requests were sent over a kept-alive connection, i.e. without opening a new socket.
+	 * Plain HTTP requests aren't counted, since the JVM opens their sockets without a factory that could count them.
+	 * @return The number of HTTPS requests that reused a connection.
+	 */
+	public long getPoolHits() {
+		CountingSocketFactory factory = socketFactory;
+		return httpsRequests.get() - ((factory != null) ? factory.sockets.get() : 0);
+	}
+
+	/** Returns how many HTTPS requests opened a new socket, because no kept-alive connection to their server was idle.
+	 * @return The number of TLS sockets opened.
+	 */
+	public long getPoolMisses() {
+		CountingSocketFactory factory = socketFactory;
+		return (factory != null) ? factory.sockets.get() : 0;
+	}
+
+	/** Returns the counting wrapper of the JVM's current default socket factory. */
+	private SSLSocketFactory getSocketFactory() {
+		SSLSocketFactory current = HttpsURLConnection.getDefaultSSLSocketFactory();
+		CountingSocketFactory factory = socketFactory;
+		if(factory == null || factory.delegate != current) {
+			synchronized(this) {
+				factory = socketFactory;
+				if(factory == null || factory.delegate != current) {
+					factory = new CountingSocketFactory(current, (factory != null) ? factory.sockets.get() : 0);
+					socketFactory = factory;
+				}
+			}
+		}
+		return factory;
+	}
+
+	/** Wraps a socket factory, counting the sockets it creates. Each one is a new connection. */
+	private static class CountingSocketFactory extends SSLSocketFactory {
+
+		private final SSLSocketFactory delegate;
+
+		private final AtomicLong sockets;
+
+		CountingSocketFactory(SSLSocketFactory delegate, long sockets) {
+			this.delegate = delegate;
+			this.sockets = new AtomicLong(sockets);
+		}
+
+		@Override
+		public String[] getDefaultCipherSuites() {
+			return delegate.getDefaultCipherSuites();
+		}
+
+		@Override
+		public String[] getSupportedCipherSuites() {
+			return delegate.getSupportedCipherSuites();
+		}
+
+		@Override
+		public Socket createSocket() throws IOException {
+			sockets.incrementAndGet();
+			return delegate.createSocket();
+		}
+
+		@Override
+		public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException {
+			sockets.incrementAndGet();
+			return delegate.createSocket(socket, host, port, autoClose);
+		}
+
+		@Override
+		public Socket createSocket(String host, int port) throws IOException {
+			sockets.incrementAndGet();
+			return delegate.createSocket(host, port);
+		}
+
+		@Override
+		public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+			sockets.incrementAndGet();
+			return delegate.createSocket(host, port, localHost, localPort);
+		}
+
+		@Override
+		public Socket createSocket(InetAddress host, int port) throws IOException {
+			sockets.incrementAndGet();
+			return delegate.createSocket(host, port);
+		}
+
+		@Override
+		public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+			sockets.incrementAndGet();
+			return delegate.createSocket(address, port, localAddress, localPort);
+		}
+	}
+
+	/** Wraps a response body. When closed, the rest of the body is read so the JVM can reuse the connection,
+	 * and the connection permit is released.
+	 */
+	private class PooledInputStream extends FilterInputStream {
+
+		private final HttpURLConnection connection;
+
+		private boolean closed = false;
+
+		PooledInputStream(InputStream in, HttpURLConnection connection) {
+			super(in);
+			this.connection = connection;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if(closed) {
+				return;
+			}
+			closed = true;
+
+			boolean reusable = false;
+			try {
+				reusable = drain();
+				in.close();
+			} finally {
+				// A fully read body leaves the connection in the JVM's keep-alive cache for the next request
+				if(!reusable) {
+					connection.disconnect();
+				}
+				permits.release();
+			}
+		}
+
+		/** Reads the rest of the body. Returns whether the whole body was read. */
+		private boolean drain() {
+			byte[] buffer = new byte[4096];
+			int drained = 0;
+			try {
+				int read;
+				while((read = in.read(buffer)) != -1) {
+					drained += read;
+					if(drained > MAX_DRAIN_BYTES) {
+						return false;
+					}
+				}
+				return true;
+			} catch (IOException e) {
+				return false;
+			}
+		}
+	}
+}
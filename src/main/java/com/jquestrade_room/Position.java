@@ -12,6 +12,7 @@ import androidx.room.Entity;
 @Entity(
 	tableName = "Positions",
 	primaryKeys = {
+			"accountNumber",
 			"symbol",
 			"timeOfCreation",
 	}
@@ -19,6 +20,7 @@ import androidx.room.Entity;
 public class Position {
 	
 	
+	@NonNull
 	private String symbol;
 	private int symbolId;
 	private int openQuantity;
@@ -57,6 +59,10 @@ public class Position {
 	@NonNull
 	private ZonedDateTime timeOfCreation = ZonedDateTime.now();
 	
+	/** The account that holds this position. Not part of the API response, so it is set by {@link Questrade#getPositions(String)}. */
+	@NonNull
+	private String accountNumber = "";
+	
 	/** Returns the time that this object was created.
 	 * @return The time that this object was created.
 	 */
@@ -64,6 +70,22 @@ public class Position {
 		return timeOfCreation;
 	}
 	
+	/** Returns the time that this object was created. Used by Room, see {@link #timeOfCreation()}. */
+	ZonedDateTime getTimeOfCreation() {
+		return timeOfCreation;
+	}
+	
+	/** Returns the number of the account that holds this position.
+	 * @return The account number.
+	 */
+	public String getAccountNumber() {
+		return accountNumber;
+	}
+	
+	void setAccountNumber(String accountNumber) {
+		this.accountNumber = accountNumber;
+	}
+	
 	/** Returns the symbol of the position.
 	 * @return The symbol.
 	 */
@@ -0,0 +1,51 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Positions} table, which stores {@link Position} objects.
+ * Get one using {@link QuestradeDatabase#positionDao()}.
+ */
+@Dao
+public interface PositionDao {
+	
+	/** Inserts the given positions in a single transaction, replacing any positions with the same primary key.
+	 * @param positions The positions to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Position... positions);
+	
+	/** Inserts the given positions in a single transaction, replacing any positions with the same primary key.
+	 * @param positions The positions to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Position> positions);
+	
+	/** Returns every stored position.
+	 * @return Every stored position.
+	 */
+	@Query("SELECT * FROM Positions")
+	List<Position> getAll();
+	
+	/** Deletes every stored position. */
+	@Query("DELETE FROM Positions")
+	void deleteAll();
+	
+	/** Returns the stored positions of the given account.
+	 * @param accountNumber The account number.
+	 * @return The positions of the account.
+	 */
+	@Query("SELECT * FROM Positions WHERE accountNumber = :accountNumber")
+	List<Position> getByAccount(String accountNumber);
+	
+	/** Returns the stored positions of the given symbol.
+	 * @param symbol The symbol/ticker.
+	 * @return The positions of the symbol.
+	 */
+	@Query("SELECT * FROM Positions WHERE symbol = :symbol")
+	List<Position> getBySymbol(String symbol);
+}
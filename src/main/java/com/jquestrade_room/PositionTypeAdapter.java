@@ -0,0 +1,82 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/** Reflection-free type adapter for {@link Position}. */
+final class PositionTypeAdapter extends TypeAdapter<Position> {
+
+	@Override
+	public void write(JsonWriter out, Position position) throws IOException {
+		if(position == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("symbol").value(position.getSymbol());
+		out.name("symbolId").value(position.getSymbolId());
+		out.name("openQuantity").value(position.getOpenQuantity());
+		out.name("closedQuantity").value(position.getClosedQuantity());
+		out.name("currentMarketValue").value(position.getCurrentMarketValue());
+		out.name("currentPrice").value(position.getCurrentPrice());
+		out.name("averageEntryPrice").value(position.getAverageEntryPrice());
+		out.name("dayPnl").value(position.getDayPnl());
+		out.name("closedPnl").value(position.getClosedPnl());
+		out.name("openPnl").value(position.getOpenPnl());
+		out.name("totalCost").value(position.getTotalCost());
+		out.name("isRealTime").value(position.isRealTime());
+		out.name("isUnderReorg").value(position.isUnderReorg());
+		out.endObject();
+	}
+
+	@Override
+	public Position read(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		String symbol = null;
+		int symbolId = 0;
+		int openQuantity = 0;
+		int closedQuantity = 0;
+		double currentMarketValue = 0;
+		double currentPrice = 0;
+		double averageEntryPrice = 0;
+		double dayPnl = 0;
+		double closedPnl = 0;
+		double openPnl = 0;
+		double totalCost = 0;
+		boolean isRealTime = false;
+		boolean isUnderReorg = false;
+
+		in.beginObject();
+		while(in.hasNext()) {
+			switch(in.nextName()) {
+				case "symbol": symbol = Json.nextString(in); break;
+				case "symbolId": symbolId = Json.nextInt(in); break;
+				case "openQuantity": openQuantity = Json.nextInt(in); break;
+				case "closedQuantity": closedQuantity = Json.nextInt(in); break;
+				case "currentMarketValue": currentMarketValue = Json.nextDouble(in); break;
+				case "currentPrice": currentPrice = Json.nextDouble(in); break;
+				case "averageEntryPrice": averageEntryPrice = Json.nextDouble(in); break;
+				case "dayPnl": dayPnl = Json.nextDouble(in); break;
+				case "closedPnl": closedPnl = Json.nextDouble(in); break;
+				case "openPnl": openPnl = Json.nextDouble(in); break;
+				case "totalCost": totalCost = Json.nextDouble(in); break;
+				case "isRealTime": isRealTime = Json.nextBoolean(in); break;
+				case "isUnderReorg": isUnderReorg = Json.nextBoolean(in); break;
+				default: in.skipValue();
+			}
+		}
+		in.endObject();
+
+		return new Position(symbol, symbolId, openQuantity, closedQuantity, currentMarketValue, currentPrice, averageEntryPrice,
+				dayPnl, closedPnl, openPnl, totalCost, isRealTime, isUnderReorg, ZonedDateTime.now());
+	}
+}
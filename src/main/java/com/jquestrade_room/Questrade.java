@@ -1,16 +1,41 @@
 package com.jquestrade_room;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 import com.jquestrade_room.Candle.Interval;
 import com.jquestrade_room.Order.OrderState;
 import com.jquestrade_room.Request.RequestMethod;
@@ -32,12 +57,33 @@ public class Questrade {
 	private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
 	
 	/** Authorization object that is created with information retrieved when consuming refresh token. */
-	private Authorization authorization;
+	private volatile Authorization authorization;
+	
+	/** Held while the authorization is being refreshed, so that only one thread consumes the (single-use) refresh token at a time. */
+	private final Object authorizationLock = new Object();
+	
+	/** The time at which the current authorization was retrieved, in milliseconds since the epoch. Guarded by {@link #authorizationLock}. */
+	private long authorizationTime;
+	
+	/** The default number of seconds before the access token expires that {@link #enableAutoRenewal()} renews it. */
+	public static final int DEFAULT_RENEWAL_SKEW = 60;
+	
+	/** How long to wait before trying to renew the authorization again if renewing it failed, in milliseconds. */
+	private static final long RENEWAL_RETRY_MILLIS = 10000;
+	
+	/** Runs the automatic authorization renewals. {@code null} if automatic renewal is disabled. Guarded by {@link #authorizationLock}. */
+	private ScheduledExecutorService renewalScheduler;
+	
+	/** The next automatic renewal. Guarded by {@link #authorizationLock}. */
+	private ScheduledFuture<?> renewal;
+	
+	/** How long before the access token expires that it is automatically renewed, in milliseconds. Guarded by {@link #authorizationLock}. */
+	private long renewalSkewMillis;
 	
 	/** Represents a {@code void} function that relays the {@code Authorization} object to a given function.
 	 * Set in {@code retrieveAccessToken()}.
 	 */
-	private Consumer<Authorization> authRelayFunction = null;
+	private volatile Consumer<Authorization> authRelayFunction = null;
 	
 	/** <b>Temporary storage variable.</b> The refresh token that this object is created with. This variable's only function is to hold the refresh token between the
 	 * time that a {@code QuestradeAPI} object is created and the time that it's activated.
@@ -51,6 +97,45 @@ public class Questrade {
 	 */
 	private Authorization startingAuthorization;
 	
+	/** The symbol/ticker of every symbol ID seen in a response, so {@code getCandles} doesn't have to look them up. */
+	private final Map<Integer, String> symbolNames = new ConcurrentHashMap<>();
+	
+	/** The default login server, which exchanges refresh tokens for access tokens. */
+	public static final String DEFAULT_LOGIN_SERVER = "https://login.questrade.com/";
+	
+	/** The login server that refresh tokens are exchanged with. Set using {@link #setLoginServer(String)}. */
+	private volatile String loginServer = DEFAULT_LOGIN_SERVER;
+	
+	/** The transport that sends every request. Set using {@link #setTransport(Transport)}. */
+	private volatile Transport transport = new PooledTransport();
+	
+	/** The cache used by the {@code getSymbol} methods, or {@code null} if symbols aren't cached. Set using {@link #setSymbolInfoCache(SymbolInfoCache)}. */
+	private volatile SymbolInfoCache symbolInfoCache = null;
+	
+	/** Keeps requests within the API's rate limits. {@code null} if requests aren't limited. Set using {@link #setRateLimiter(RateLimiter)}. */
+	private volatile RateLimiter rateLimiter = null;
+	
+	/** Counts the snap quotes retrieved by {@link #getQuote(int[])}. {@code null} if they aren't counted. */
+	private volatile SnapQuoteBudget snapQuoteBudget = null;
+	
+	/** Records the latency, size and outcome of every request. {@code null} if requests aren't recorded. */
+	private volatile RequestMetrics requestMetrics = null;
+	
+	/** Receive the stages of every request. Added using {@link #addRequestInterceptor(RequestInterceptor)}. */
+	private final List<RequestInterceptor> interceptors = new CopyOnWriteArrayList<>();
+	
+	/** The default maximum number of concurrent requests made by {@link #getSnapshot(String[], ZonedDateTime, ZonedDateTime)},
+	 * {@link #getAllActivities(String, ZonedDateTime, ZonedDateTime)} and {@link #getAllExecutions(String, ZonedDateTime, ZonedDateTime)}.
+	 * Same as {@link PooledTransport#DEFAULT_MAX_CONNECTIONS}, since the default transport wouldn't send more requests at once anyway.
+	 */
+	public static final int DEFAULT_SNAPSHOT_CONCURRENCY = PooledTransport.DEFAULT_MAX_CONNECTIONS;
+	
+	/** Limits how many requests {@link #getSnapshot(String[], ZonedDateTime, ZonedDateTime)} and the {@code getAll} methods make at once. */
+	private volatile Semaphore snapshotPermits = new Semaphore(DEFAULT_SNAPSHOT_CONCURRENCY);
+	
+	/** The number of permits in {@link #snapshotPermits}. */
+	private volatile int snapshotConcurrency = DEFAULT_SNAPSHOT_CONCURRENCY;
+	
 	/** Creates an instance of the {@code QuestradeAPI} wrapper, whose methods can be used to access the Questrade API. 
 	 * To use the object to access the Questrade API,
 	 * you must call the {@link #activate()} method on the object, otherwise API methods will not work.
@@ -92,12 +177,18 @@ public class Questrade {
 	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
 	 * */
 	public Questrade activate() throws RefreshTokenException {
-		if(startingRefreshToken != null) {
-			retrieveAccessToken(startingRefreshToken);
-			startingRefreshToken = null;
-		} else if(startingAuthorization != null) {
-			authorization = startingAuthorization;
-			startingAuthorization = null;
+		synchronized(authorizationLock) {
+			if(startingRefreshToken != null) {
+				retrieveAccessToken(startingRefreshToken);
+				startingRefreshToken = null;
+			} else if(startingAuthorization != null) {
+				authorization = startingAuthorization;
+				startingAuthorization = null;
+				
+				// The real issue time of a cached access token is unknown, so a failed request can still trigger the refresh
+				authorizationTime = System.currentTimeMillis();
+				scheduleRenewal();
+			}
 		}
 		
 		return this;
@@ -110,13 +201,13 @@ public class Questrade {
 	 * @param refreshToken The refresh token to consume
 	 */
 	public void revokeAuthorization(String refreshToken) {
-		String URL = "https://login.questrade.com/oauth2/token?grant_type=refresh_token&refresh_token=" + refreshToken;
+		String URL = loginServer + "oauth2/token?grant_type=refresh_token&refresh_token=" + refreshToken;
 		
 		Request request = new Request(URL);
 		request.setRequestMethod(RequestMethod.GET);
 		
 		try {
-			sendRequest(request);
+			sendRequest(request, JsonObject.class);
 		} catch (RefreshTokenException e) {}
 	}
 	
@@ -126,13 +217,13 @@ public class Questrade {
 	 * essentially invalidating the old ones.
 	 */
 	public void revokeAuthorization() {
-		String URL = "https://login.questrade.com/oauth2/token?grant_type=refresh_token&refresh_token=" + authorization.getRefreshToken();
+		String URL = loginServer + "oauth2/token?grant_type=refresh_token&refresh_token=" + authorization.getRefreshToken();
 		
 		Request request = new Request(URL);
 		request.setRequestMethod(RequestMethod.GET);
 		
 		try {
-			sendRequest(request);
+			sendRequest(request, JsonObject.class);
 		} catch (RefreshTokenException e) {}
 	}
 	
@@ -146,21 +237,47 @@ public class Questrade {
 	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
 	 */
 	public void retrieveAccessToken(String refreshToken) throws RefreshTokenException {		
-		String URL = "https://login.questrade.com/oauth2/token?grant_type=refresh_token&refresh_token=" + refreshToken;
+		String URL = loginServer + "oauth2/token?grant_type=refresh_token&refresh_token=" + refreshToken;
 		
 		Request request = new Request(URL);
 		request.setRequestMethod(RequestMethod.GET);
 		
-		String responseJSON = sendRequest(request);
-
-		authorization = new Gson().fromJson(responseJSON, Authorization.class);
-
-		if(authRelayFunction != null) {
-			authRelayFunction.accept(authorization);
+		synchronized(authorizationLock) {
+			long requestTime = System.currentTimeMillis();
+			Authorization retrieved = sendRequest(request, Authorization.class);
+			if(retrieved == null) {
+				// Keep the current authorization, so a failed renewal doesn't leave this object without one
+				throw new StatusCodeException("No authorization was returned when consuming the refresh token.", 0);
+			}
+			
+			authorization = retrieved;
+			authorizationTime = requestTime;
+			scheduleRenewal();
+			
+			RequestMetrics metrics = requestMetrics;
+			if(metrics != null) {
+				metrics.recordTokenRefresh();
+			}
+	
+			if(authRelayFunction != null) {
+				authRelayFunction.accept(authorization);
+			}
 		}
-		
 	}	
 	
+	/** Refreshes the authorization after a request was rejected because its access token expired. If another thread already
+	 * refreshed the authorization since that request was made, this waits for that refresh instead of consuming the new refresh token again.
+	 * @param expiredAccessToken The access token that the rejected request was made with.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 */
+	private void refreshExpiredAuthorization(String expiredAccessToken) throws RefreshTokenException {
+		synchronized(authorizationLock) {
+			if(expiredAccessToken == null || expiredAccessToken.equals(authorization.getAccessToken())) {
+				retrieveAccessToken(authorization.getRefreshToken());
+			}
+		}
+	}
+	
 	/** Forcefully refreshes the authorization (which includes the access token) with the refresh token saved within the object. 
 	 * Calling this function will save the resulting {@link Authorization} object to be relayed to <i>authorization relay function</i> 
 	 * (if set using the {@link #setAuthRelay(Consumer)} method).<br><br>
@@ -173,6 +290,93 @@ public class Questrade {
 		retrieveAccessToken(authorization.getRefreshToken());
 	}
 
+	/** Enables automatic renewal of the authorization {@value #DEFAULT_RENEWAL_SKEW} seconds before the access token expires.
+	 * Equivalent to calling {@code enableAutoRenewal(DEFAULT_RENEWAL_SKEW)}.
+	 * @return A reference to the calling object, for optional method chaining.
+	 * @see #enableAutoRenewal(int)
+	 */
+	public Questrade enableAutoRenewal() {
+		return enableAutoRenewal(DEFAULT_RENEWAL_SKEW);
+	}
+	
+	/** Enables automatic renewal of the authorization. A background thread will refresh the authorization shortly before the access
+	 * token expires (see {@link Authorization#getAccessTokenExpiry()}), so requests don't have to wait for an expired access token
+	 * to be rejected and refreshed first. Every renewal is relayed to the <i>authorization relay function</i>, like any other refresh.
+	 * If a renewal fails because the refresh token is invalid, automatic renewal stops and the next request will throw a
+	 * {@link RefreshTokenException} as usual.
+	 * @param skewSeconds How many seconds before the access token expires to renew it.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade enableAutoRenewal(int skewSeconds) {
+		if(skewSeconds < 0) {
+			throw new ArgumentException("skewSeconds argument cannot be less than 0");
+		}
+		
+		synchronized(authorizationLock) {
+			if(renewalScheduler == null) {
+				renewalScheduler = Executors.newSingleThreadScheduledExecutor(Threads.daemonThreadFactory("questrade-renewal"));
+			}
+			renewalSkewMillis = skewSeconds * 1000L;
+			scheduleRenewal();
+		}
+		return this;
+	}
+	
+	/** Disables automatic renewal of the authorization, if it was enabled using {@link #enableAutoRenewal(int)}.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade disableAutoRenewal() {
+		synchronized(authorizationLock) {
+			if(renewalScheduler != null) {
+				renewalScheduler.shutdownNow();
+				renewalScheduler = null;
+				renewal = null;
+			}
+		}
+		return this;
+	}
+	
+	/** Schedules the next automatic renewal for shortly before the current access token expires. Does nothing if automatic
+	 * renewal is disabled or the object isn't activated yet. Must be called while holding {@link #authorizationLock}.
+	 */
+	private void scheduleRenewal() {
+		if(renewalScheduler == null || authorization == null) {
+			return;
+		}
+		long expiryTime = authorizationTime + authorization.getAccessTokenExpiry() * 1000L;
+		scheduleRenewal(Math.max(0, expiryTime - renewalSkewMillis - System.currentTimeMillis()));
+	}
+	
+	/** Schedules the next automatic renewal after the given delay, replacing the one already scheduled. Must be called while holding {@link #authorizationLock}. */
+	private void scheduleRenewal(long delayMillis) {
+		if(renewal != null) {
+			renewal.cancel(false);
+		}
+		
+		Authorization renewed = authorization;
+		renewal = renewalScheduler.schedule(() -> renew(renewed), delayMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	/** Run by the renewal scheduler. Refreshes the authorization, unless it was already refreshed since the renewal was scheduled.
+	 * @param renewed The authorization that was current when this renewal was scheduled.
+	 */
+	private void renew(Authorization renewed) {
+		synchronized(authorizationLock) {
+			if(renewalScheduler == null || authorization != renewed) {
+				return;
+			}
+			
+			try {
+				retrieveAccessToken(renewed.getRefreshToken()); // Schedules the next renewal
+			} catch (RefreshTokenException e) {
+				// Leave it to the next request to report the invalid refresh token
+			} catch (RuntimeException e) {
+				// Possibly a network problem, try again soon. Requests will still refresh on their own if the access token expires first.
+				scheduleRenewal(RENEWAL_RETRY_MILLIS);
+			}
+		}
+	}
+	
 	/**Returns an {@link Authorization} object which contains the access token, api server,
 	 * access token expiry time, new refresh token, and the access token type (which is always Bearer).<br><br>
 	 * @return The current {@code Authorization} object. Will be {@code null} if {@link #activate()} has not been called yet.
@@ -199,6 +403,162 @@ public class Questrade {
 		return this;
 	}
 	
+	/** Sets the login server that refresh tokens are exchanged with. The API server is then the one returned by the login server,
+	 * so pointing this at a local server (e.g. a test stub) redirects every request. Must be called before {@link #activate()}
+	 * to affect the first authorization.
+	 * @param loginServer The URL of the login server, ending with a {@code /}. Defaults to {@link #DEFAULT_LOGIN_SERVER}.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setLoginServer(String loginServer) {
+		if(loginServer == null) {
+			throw new ArgumentException("loginServer argument cannot be null");
+		}
+		this.loginServer = loginServer.endsWith("/") ? loginServer : loginServer + "/";
+		return this;
+	}
+	
+	/** Returns the login server that refresh tokens are exchanged with.
+	 * @return The URL of the login server.
+	 */
+	public String getLoginServer() {
+		return loginServer;
+	}
+	
+	/** Sets the transport that sends every request made by this object. By default, a {@link PooledTransport} is used,
+	 * which reuses connections to the API server.
+	 * @param transport The transport to send requests with.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setTransport(Transport transport) {
+		if(transport == null) {
+			throw new ArgumentException("transport argument cannot be null");
+		}
+		this.transport = transport;
+		return this;
+	}
+	
+	/** Returns the transport that sends every request made by this object.
+	 * @return The transport. Is a {@link PooledTransport} unless set otherwise using {@link #setTransport(Transport)}.
+	 */
+	public Transport getTransport() {
+		return transport;
+	}
+	
+	/** Sets the cache used by the {@code getSymbol} methods. Symbols found in the cache aren't requested again until they expire,
+	 * and all of the symbols that aren't found are requested together in a single request. By default, symbols aren't cached.
+	 * @param symbolInfoCache The cache to use, or {@code null} to stop caching symbols.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setSymbolInfoCache(SymbolInfoCache symbolInfoCache) {
+		this.symbolInfoCache = symbolInfoCache;
+		return this;
+	}
+	
+	/** Returns the cache used by the {@code getSymbol} methods.
+	 * @return The cache, or {@code null} if symbols aren't cached.
+	 */
+	public SymbolInfoCache getSymbolInfoCache() {
+		return symbolInfoCache;
+	}
+	
+	/** Sets the rate limiter that keeps the requests made by this object within the API's rate limits. By default, requests aren't limited,
+	 * and a request refused by the server throws a {@link RateLimitException}. Example, to delay requests that would exceed a limit instead:
+	 * {@code q.setRateLimiter(new RateLimiter())}
+	 * @param rateLimiter The rate limiter to use, or {@code null} to send requests without limiting them.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setRateLimiter(RateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+		return this;
+	}
+	
+	/** Returns the rate limiter that keeps the requests made by this object within the API's rate limits.
+	 * @return The rate limiter, or {@code null} if requests aren't limited.
+	 */
+	public RateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+	
+	/** Sets the budget that counts the snap quotes retrieved by the {@code getQuote} methods against the limit of each market.
+	 * Depending on its policy, quote requests that would exceed a limit are sent anyway, refused, or sent without the symbols
+	 * of the exhausted markets. By default, snap quotes aren't counted.
+	 * @param snapQuoteBudget The budget to use, or {@code null} to stop counting snap quotes.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setSnapQuoteBudget(SnapQuoteBudget snapQuoteBudget) {
+		this.snapQuoteBudget = snapQuoteBudget;
+		return this;
+	}
+	
+	/** Returns the budget that counts the snap quotes retrieved by the {@code getQuote} methods.
+	 * @return The budget, or {@code null} if snap quotes aren't counted.
+	 */
+	public SnapQuoteBudget getSnapQuoteBudget() {
+		return snapQuoteBudget;
+	}
+	
+	/** Sets the metrics that record the latency, response size and outcome of every request made by this object, per endpoint,
+	 * along with retries and access token refreshes. By default, requests aren't recorded.
+	 * @param requestMetrics The metrics to record into, or {@code null} to stop recording.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setRequestMetrics(RequestMetrics requestMetrics) {
+		this.requestMetrics = requestMetrics;
+		return this;
+	}
+	
+	/** Returns the metrics that record the requests made by this object.
+	 * @return The metrics, or {@code null} if requests aren't recorded.
+	 */
+	public RequestMetrics getRequestMetrics() {
+		return requestMetrics;
+	}
+	
+	/** Adds an interceptor that receives the stages of every request made by this object, along with their timing.
+	 * Interceptors are called in the order they were added.
+	 * @param interceptor The interceptor to add.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade addRequestInterceptor(RequestInterceptor interceptor) {
+		if(interceptor == null) {
+			throw new ArgumentException("interceptor argument cannot be null");
+		}
+		interceptors.add(interceptor);
+		return this;
+	}
+	
+	/** Removes an interceptor added using {@link #addRequestInterceptor(RequestInterceptor)}.
+	 * @param interceptor The interceptor to remove.
+	 */
+	public void removeRequestInterceptor(RequestInterceptor interceptor) {
+		interceptors.remove(interceptor);
+	}
+	
+	/** Returns an asynchronous view of this object, whose methods return a {@code CompletableFuture} instead of blocking.
+	 * The futures wrap this object's blocking methods: requests are run on virtual threads on Java 21+, or otherwise on a shared
+	 * pool of at most {@value AsyncQuestrade#DEFAULT_MAX_THREADS} daemon threads, and each one occupies its thread until it completes.
+	 * The transport limits them further: the default {@link PooledTransport} sends at most
+	 * {@value PooledTransport#DEFAULT_MAX_CONNECTIONS} at once. See {@link AsyncQuestrade}.
+	 * @return An {@link AsyncQuestrade} that sends requests through this object.
+	 */
+	public AsyncQuestrade async() {
+		return new AsyncQuestrade(this, null);
+	}
+	
+	/** Returns an asynchronous view of this object, whose methods return a {@code CompletableFuture} instead of blocking.
+	 * The futures wrap this object's blocking methods, so each request occupies a thread of the executor until it completes.
+	 * At most min(executor threads, transport connections) requests are in flight at once; the default {@link PooledTransport}
+	 * sends at most {@value PooledTransport#DEFAULT_MAX_CONNECTIONS}. See {@link AsyncQuestrade}.
+	 * @param executor The executor to run requests on.
+	 * @return An {@link AsyncQuestrade} that sends requests through this object.
+	 */
+	public AsyncQuestrade async(Executor executor) {
+		if(executor == null) {
+			throw new ArgumentException("executor argument cannot be null");
+		}
+		return new AsyncQuestrade(this, executor);
+	}
+	
 	/** Get the balances for the given account. 
 	 * @param accountNumber The account number to get the balances for. To get an account number, call
 	 * {@link #getAccounts()} to get a {@code Account[]}, then call {@link Account#getNumber()} on some index.
@@ -217,9 +577,10 @@ public class Questrade {
 		request.setRequestMethod(RequestMethod.GET);
 		request.setApiServer(authorization.getApiServer());
 		
-		String balancesJSON = sendRequest(request);
-		
-		Balances balance = new Gson().fromJson(balancesJSON, Balances.class);
+		Balances balance = sendRequest(request, Balances.class);
+		if(balance != null) {
+			balance.setAccountNumber(accountNumber);
+		}
 		return balance;
 	}
 	
@@ -244,9 +605,7 @@ public class Questrade {
 		request.setRequestMethod(RequestMethod.GET);
 		request.setApiServer(authorization.getApiServer());
 		
-		String accountsJSON = sendRequest(request);
-		
-		Accounts accounts = new Gson().fromJson(accountsJSON, Accounts.class);
+		Accounts accounts = sendRequest(request, Accounts.class);
 
 		//Inject the userId into each account for easier access
 		for(int i = 0; i < accounts.accounts.length; i++) {
@@ -271,9 +630,7 @@ public class Questrade {
 		request.setApiServer(authorization.getApiServer());
 		request.setAccessToken(authorization.getAccessToken());
 		
-		String timeJSON = sendRequest(request);
-		
-		String timeISO = new Gson().fromJson(timeJSON, JsonObject.class).get("time").getAsString();
+		String timeISO = sendRequest(request, JsonObject.class).get("time").getAsString();
 		return ZonedDateTime.parse(timeISO);
 	}
 	
@@ -305,9 +662,7 @@ public class Questrade {
 		request.addParameter("startTime", startTime.format(ISO_FORMATTER));
 		request.addParameter("endTime", endTime.format(ISO_FORMATTER));
 		
-		String activitiesJSON = sendRequest(request);
-	
-		Activities activities = new Gson().fromJson(activitiesJSON, Activities.class);
+		Activities activities = sendRequest(request, Activities.class);
 		
 		return activities.activities;
 	}	
@@ -340,12 +695,109 @@ public class Questrade {
 		request.addParameter("startTime", startTime.format(ISO_FORMATTER));
 		request.addParameter("endTime", endTime.format(ISO_FORMATTER));
 		
-		String executionsJSON = sendRequest(request);
-
-		Executions executions = new Gson().fromJson(executionsJSON, Executions.class);
+		Executions executions = sendRequest(request, Executions.class);
+		if(executions == null) {
+			throw new StatusCodeException("No executions were returned for account " + accountNumber + ".", 0);
+		}
 		
 		return executions.executions;
 	}	
+	
+	/** The longest time period that a single activities or executions request can cover, in days. */
+	static final int MAX_DAYS_PER_REQUEST = 30;
+	
+	/** Get all of the activities of an account in a time period of any length. The time period is split into windows of
+	 * {@value #MAX_DAYS_PER_REQUEST} days, which are requested concurrently (at most {@link #getSnapshotConcurrency()} at a time,
+	 * and within the rate limits), then merged in order. An activity returned by two adjacent windows is only included once.
+	 * @param accountNumber The account for which to get the activities for.
+	 * @param startTime The beginning of the time period to get the activities for.
+	 * @param endTime The end of the time period to get the activities for.
+	 * @return An {@code Activity[]} array representing all the activities in the given time period, oldest window first.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 */
+	public Activity[] getAllActivities(String accountNumber, ZonedDateTime startTime, ZonedDateTime endTime) throws RefreshTokenException {
+		List<Activity> activities = getInWindows(startTime, endTime,
+				(windowStart, windowEnd) -> getActivities(accountNumber, windowStart, windowEnd),
+				activity -> Arrays.asList(activity.getTradeDate(), activity.getTransactionDate(), activity.getSettlementDate(),
+						activity.getAction(), activity.getSymbolId(), activity.getDescription(), activity.getCurrency(),
+						activity.getQuantity(), activity.getPrice(), activity.getGrossAmount(), activity.getCommission(),
+						activity.getNetAmount(), activity.getType()));
+		return activities.toArray(new Activity[0]);
+	}
+	
+	/** Get all of the executions of an account in a time period of any length. The time period is split into windows of
+	 * {@value #MAX_DAYS_PER_REQUEST} days, which are requested concurrently (at most {@link #getSnapshotConcurrency()} at a time,
+	 * and within the rate limits), then merged in order. An execution returned by two adjacent windows is only included once.
+	 * @param accountNumber The account for which to get the executions for.
+	 * @param startTime The beginning of the time period to get the executions for.
+	 * @param endTime The end of the time period to get the executions for.
+	 * @return An {@code Execution[]} array representing all the executions in the given time period, oldest window first.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 */
+	public Execution[] getAllExecutions(String accountNumber, ZonedDateTime startTime, ZonedDateTime endTime) throws RefreshTokenException {
+		List<Execution> executions = getInWindows(startTime, endTime,
+				(windowStart, windowEnd) -> getExecutions(accountNumber, windowStart, windowEnd),
+				execution -> execution.getId());
+		return executions.toArray(new Execution[0]);
+	}
+	
+	/** Represents a blocking API call for one window of a longer time period. */
+	interface WindowCall<T> {
+		T[] call(ZonedDateTime windowStart, ZonedDateTime windowEnd) throws RefreshTokenException;
+	}
+	
+	/** Splits the given time period into windows of {@link #MAX_DAYS_PER_REQUEST} days, makes the given call for every window concurrently,
+	 * and merges the results in order. Adjacent windows share their boundary, so an element of a window is dropped if the previous
+	 * window returned an element with the same key (once per such element, so that identical elements within a window are kept).
+	 */
+	private <T> List<T> getInWindows(ZonedDateTime startTime, ZonedDateTime endTime, WindowCall<T> call, Function<T, Object> key) throws RefreshTokenException {
+		if(startTime.isAfter(endTime)) {
+			throw new TimeRangeException("The startTime must be earlier than the endTime.");
+		}
+		
+		Semaphore permits = snapshotPermits;
+		ExecutorService executor = Threads.newVirtualThreadExecutor("questrade-windows");
+		
+		try {
+			List<Future<T[]>> windows = new ArrayList<>();
+			ZonedDateTime windowStart = startTime;
+			do {
+				ZonedDateTime start = windowStart;
+				ZonedDateTime end = windowStart.plusDays(MAX_DAYS_PER_REQUEST);
+				if(end.isAfter(endTime)) {
+					end = endTime;
+				}
+				ZonedDateTime windowEnd = end;
+				windows.add(executor.submit(limited(permits, () -> call.call(start, windowEnd))));
+				windowStart = windowEnd;
+			} while(windowStart.isBefore(endTime));
+			
+			List<T> merged = new ArrayList<>();
+			Map<Object, Integer> previousKeys = new HashMap<>();
+			for(Future<T[]> window : windows) {
+				Map<Object, Integer> keys = new HashMap<>();
+				for(T element : Threads.await(window)) {
+					Object elementKey = key.apply(element);
+					keys.merge(elementKey, 1, Integer::sum);
+					
+					Integer previousCount = previousKeys.get(elementKey);
+					if(previousCount != null && previousCount > 0) {
+						previousKeys.put(elementKey, previousCount - 1);
+						continue;
+					}
+					merged.add(element);
+				}
+				previousKeys = keys;
+			}
+			return merged;
+		} finally {
+			executor.shutdownNow(); // Stops the remaining requests if one of them failed
+		}
+	}
 
 	/** Get all of the orders of an account in a given time period, using one or more order IDs.
 	 * Is equivalent to {@link #getOrders(String, int, int[])}
@@ -366,7 +818,7 @@ public class Questrade {
 		request.setApiServer(authorization.getApiServer());
 		request.addParameter("ids", orderIds);
 		
-		return finishGetOrders(request);
+		return finishGetOrders(request, accountNumber);
 	}
 	
 	/** Get all of the orders of an account in a given time period, using one or more order IDs.
@@ -395,7 +847,7 @@ public class Questrade {
 		request.setAccessToken(authorization.getAccessToken());
 		request.addParameter("ids", orderIds);
 		
-		return finishGetOrders(request);
+		return finishGetOrders(request, accountNumber);
 	}
 	
 	/** Get all of the orders of an account in a given time period. A maximum of 30 days of data can be requested at a time.
@@ -444,23 +896,26 @@ public class Questrade {
 			request.addParameter("stateFilter", orderState.name());
 		}
 		
-		return finishGetOrders(request);
+		return finishGetOrders(request, accountNumber);
 	}
 	
-	/** Private class used for GSON parsing, only in {@link Questrade#finishGetOrders(Request)} */
+	/** Private class used for GSON parsing, only in {@link Questrade#finishGetOrders(Request, String)} */
 	private class Orders { private Order[] orders; }
 	
 	/** A private method that all {@code getOrders} methods eventually funnel in to. Method exists only to not have to repeat code.
 	 * @param request The API request created in some {@code getOrders} method. Contains the URL, parameters, request method, etc.
+	 * @param accountNumber The account that the orders are requested for.
 	 * @return An {@code Order[]} array containing all of the corresponding {@link Order} objects.
 	 * @throws RefreshTokenException If the refresh token is invalid.
 	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
 	 * @see <a href="https://www.questrade.com/api/documentation/rest-operations/account-calls/accounts-id-orders">
 	 * The Questrade API <b>GET accounts/:id/orders[/:orderId]</b> documentation</a>
 	 */
-	private Order[] finishGetOrders(Request request) throws RefreshTokenException {
-		String ordersJSON = sendRequest(request);
-		Orders orders = new Gson().fromJson(ordersJSON, Orders.class);
+	private Order[] finishGetOrders(Request request, String accountNumber) throws RefreshTokenException {
+		Orders orders = sendRequest(request, Orders.class);
+		if(orders == null) {
+			throw new StatusCodeException("No orders were returned for account " + accountNumber + ".", 0);
+		}
 		return orders.orders;
 	}
 	
@@ -484,18 +939,127 @@ public class Questrade {
 		request.setApiServer(authorization.getApiServer());
 		request.setAccessToken(authorization.getAccessToken());		
 		
-		String positionsJSON = sendRequest(request);
+		Positions positions = sendRequest(request, Positions.class);
+		if(positions == null) {
+			throw new StatusCodeException("No positions were returned for account " + accountNumber + ".", 0);
+		}
 		
-		Positions positions = new Gson().fromJson(positionsJSON, Positions.class);
+		for(Position position : positions.positions) {
+			position.setAccountNumber(accountNumber);
+			rememberSymbol(position.getSymbolId(), position.getSymbol());
+		}
 		
 		return positions.positions;
 	}
 	
+	/** Gets the balances, positions, orders and executions of every given account at once. All of the requests are made
+	 * concurrently (on virtual threads, if the JVM supports them), so this takes about as long as the slowest request,
+	 * instead of the sum of all of them. At most {@link #getSnapshotConcurrency()} requests are made at a time, to stay
+	 * within Questrade's rate limits.
+	 * @param accountNumbers The accounts to get the snapshot of. To get account numbers, call {@link #getAccounts()}.
+	 * @param startTime The beginning of the time period to get the orders and executions for.
+	 * @param endTime The end of the time period to get the orders and executions for.
+	 * @return A {@link Snapshot} containing an {@link AccountSnapshot} for each account.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API, or if any of the requests returned nothing,
+	 * so a snapshot never misses part of an account.
+	 */
+	public Snapshot getSnapshot(String[] accountNumbers, ZonedDateTime startTime, ZonedDateTime endTime) throws RefreshTokenException {
+		if(startTime.isAfter(endTime)) {
+			throw new TimeRangeException("The startTime must be earlier than the endTime.");
+		}
+		
+		Semaphore permits = snapshotPermits;
+		ExecutorService executor = Threads.newVirtualThreadExecutor("questrade-snapshot");
+		
+		try {
+			List<Future<Balances>> balances = new ArrayList<>();
+			List<Future<Position[]>> positions = new ArrayList<>();
+			List<Future<Order[]>> orders = new ArrayList<>();
+			List<Future<Execution[]>> executions = new ArrayList<>();
+			
+			for(String accountNumber : accountNumbers) {
+				balances.add(executor.submit(limited(permits, () -> {
+					// getBalances() returns null if the response couldn't be read, which would leave a hole in the snapshot
+					Balances accountBalances = getBalances(accountNumber);
+					if(accountBalances == null) {
+						throw new StatusCodeException("No balances were returned for account " + accountNumber + ".", 0);
+					}
+					return accountBalances;
+				})));
+				positions.add(executor.submit(limited(permits, () -> getPositions(accountNumber))));
+				orders.add(executor.submit(limited(permits, () -> getOrders(accountNumber, startTime, endTime))));
+				executions.add(executor.submit(limited(permits, () -> getExecutions(accountNumber, startTime, endTime))));
+			}
+			
+			Map<String, AccountSnapshot> accountSnapshots = new LinkedHashMap<>();
+			for(int i = 0; i < accountNumbers.length; i++) {
+				accountSnapshots.put(accountNumbers[i], new AccountSnapshot(
+						accountNumbers[i],
+						Threads.await(balances.get(i)),
+						Threads.await(positions.get(i)),
+						Threads.await(orders.get(i)),
+						Threads.await(executions.get(i))));
+			}
+			
+			return new Snapshot(accountSnapshots, startTime, endTime);
+		} finally {
+			executor.shutdownNow(); // Stops the remaining requests if one of them failed
+		}
+	}
+	
+	/** Sets the maximum number of requests that {@link #getSnapshot(String[], ZonedDateTime, ZonedDateTime)} makes at once.
+	 * Also applies to {@link #getAllActivities(String, ZonedDateTime, ZonedDateTime)} and {@link #getAllExecutions(String, ZonedDateTime, ZonedDateTime)}.
+	 * Defaults to {@link #DEFAULT_SNAPSHOT_CONCURRENCY}.<br><br>
+	 * Requests are also limited by the transport: a {@link PooledTransport} sends at most {@link PooledTransport#getMaxConnections()}
+	 * requests at once, so raising this above that value only makes the extra requests wait for a connection. To raise both, use e.g.
+	 * {@code q.setTransport(new PooledTransport(16)).setSnapshotConcurrency(16)}.
+	 * @param concurrency The maximum number of concurrent requests.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public Questrade setSnapshotConcurrency(int concurrency) {
+		if(concurrency < 1) {
+			throw new ArgumentException("concurrency argument cannot be less than 1");
+		}
+		snapshotPermits = new Semaphore(concurrency);
+		snapshotConcurrency = concurrency;
+		return this;
+	}
+	
+	/** Returns the maximum number of requests that {@link #getSnapshot(String[], ZonedDateTime, ZonedDateTime)} makes at once.
+	 * @return The maximum number of concurrent requests.
+	 */
+	public int getSnapshotConcurrency() {
+		return snapshotConcurrency;
+	}
+	
+	/** Represents a blocking API call. */
+	interface Call<T> {
+		T call() throws RefreshTokenException;
+	}
+	
+	/** Wraps the given call so that it only runs while holding one of the given permits. */
+	private static <T> Callable<T> limited(Semaphore permits, Call<T> call) {
+		return () -> {
+			permits.acquire();
+			try {
+				return call.call();
+			} finally {
+				permits.release();
+			}
+		};
+	}
+	
 	/** Private class used for GSON parsing, only in {@link Questrade#getCandles(int, ZonedDateTime, ZonedDateTime, Interval)} */
 	private class Candles { private Candle[] candles; }
 	
 	/** Returns historical market data in the form of OHLC candlesticks for a specified symbol.
-	 * This call is limited to returning 2,000 candlesticks in a single response.
+	 * This call is limited to returning 2,000 candlesticks in a single response.<br><br>
+	 * The symbol/ticker of each {@code Candle} is looked up from the symbols that this object has already seen
+	 * (in the responses of {@code getSymbol}, {@code searchSymbol}, {@code getQuote} and {@code getPositions}).
+	 * If it hasn't seen the symbol yet, it will be retrieved using {@link #getSymbol(int, int...)}.
+	 * To skip the lookup, use {@link #getCandles(int, String, ZonedDateTime, ZonedDateTime, Interval)}.
 	 * @param symbolId The internal symbol identifier.
 	 * @param startTime The beginning of the time period to get the candles for.
 	 * @param endTime The end of the time period to get the candles for. 
@@ -512,6 +1076,29 @@ public class Questrade {
 			throw new TimeRangeException("The startTime must be earlier than the endTime.");
 		}
 		
+		return getCandles(symbolId, resolveSymbol(symbolId), startTime, endTime, interval);
+	}
+	
+	/** Returns historical market data in the form of OHLC candlesticks for a specified symbol, when the symbol/ticker is already known.
+	 * Unlike {@link #getCandles(int, ZonedDateTime, ZonedDateTime, Interval)}, this never makes a request to look up the symbol.
+	 * This call is limited to returning 2,000 candlesticks in a single response.
+	 * @param symbolId The internal symbol identifier.
+	 * @param symbol The symbol/ticker to set on each {@code Candle}. Can be {@code null}, in which case {@link Candle#getSymbol()} returns {@code null}.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for. 
+	 * @param interval The time between the candles.
+	 * @return An {@code Candle[]} array containing all of the {@link Candle}s within in the given time period.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 * @see <a href="https://www.questrade.com/api/documentation/rest-operations/market-calls/markets-candles-id">
+	 * The Questrade API <b>GET markets/candles/:id</b> documentation</a>
+	 */
+	public Candle[] getCandles(int symbolId, String symbol, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval) throws RefreshTokenException {
+		if(startTime.isAfter(endTime)) {
+			throw new TimeRangeException("The startTime must be earlier than the endTime.");
+		}
+		
 		String URL = "v1/markets/candles/" + symbolId;
 		
 		Request request = new Request(URL);
@@ -522,18 +1109,167 @@ public class Questrade {
 		request.addParameter("endTime", endTime.format(ISO_FORMATTER));
 		request.addParameter("interval", interval.name());
 		
-		String candlesJSON = sendRequest(request);
-		
-		Candles candles = new Gson().fromJson(candlesJSON, Candles.class);
+		Candles candles = sendRequest(request, Candles.class);
 		
-		SymbolInfo[] symbolInfos = getSymbol(symbolId);
 		for(Candle c : candles.candles) {
-			c.setSymbol(symbolInfos[0].getSymbol());
+			c.setSeries(symbolId, symbol, interval);
 		}
 		
 		return candles.candles;
 	}
 	
+	/** Returns the symbol/ticker of the given symbol ID. Uses {@link #symbolNames} if possible, otherwise retrieves it using {@link #getSymbol(int, int...)}.
+	 * Throws an {@code ArgumentException} if no symbol has the given ID.
+	 */
+	String resolveSymbol(int symbolId) throws RefreshTokenException {
+		String symbol = symbolNames.get(symbolId);
+		if(symbol == null) {
+			SymbolInfo[] symbolInfos = getSymbol(symbolId); // Also adds it to symbolNames
+			if(symbolInfos.length == 0 || symbolInfos[0] == null) {
+				throw new ArgumentException("No symbol has the symbol ID " + symbolId + ".");
+			}
+			symbol = symbolInfos[0].getSymbol();
+		}
+		return symbol;
+	}
+	
+	/** The maximum number of candles that the API returns in a single response. */
+	private static final int MAX_CANDLES_PER_REQUEST = 2000;
+	
+	/** Streams historical market data in the form of OHLC candlesticks for a specified symbol, for time periods of any length.
+	 * The time period is split into windows that fit within the 2,000-candle limit of a single response. The windows are requested
+	 * one after another, and the candles of each window are passed to the given consumer once its response is read, so at most one
+	 * window of candles is held in memory at a time. Candles are passed in chronological order, without duplicates.<br><br>
+	 * The consumer is only called once the response of a window is closed, so it can make other API calls through this object
+	 * without waiting for a connection that it is itself holding.<br><br>
+	 * Example: {@code q.getCandles(symbolId, startTime, endTime, Interval.OneMinute, candle -> process(candle));}
+	 * @param symbolId The internal symbol identifier.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for. 
+	 * @param interval The time between the candles.
+	 * @param consumer The function to which each {@link Candle} is passed.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API, or if a window couldn't be retrieved.
+	 * In that case, the consumer has already been passed the candles of the earlier windows, so the candles it received are incomplete.
+	 * @see <a href="https://www.questrade.com/api/documentation/rest-operations/market-calls/markets-candles-id">
+	 * The Questrade API <b>GET markets/candles/:id</b> documentation</a>
+	 */
+	public void getCandles(int symbolId, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval, Consumer<Candle> consumer) throws RefreshTokenException {
+		if(startTime.isAfter(endTime)) {
+			throw new TimeRangeException("The startTime must be earlier than the endTime.");
+		}
+		
+		if(!streamCandles(symbolId, resolveSymbol(symbolId), startTime, endTime, interval, consumer)) {
+			throw new StatusCodeException("A window of candles couldn't be retrieved, so only part of the time period was passed to the consumer.", 0);
+		}
+	}
+	
+	/** Does the work of {@link #getCandles(int, ZonedDateTime, ZonedDateTime, Interval, Consumer)}.
+	 * Returns {@code false} if a window couldn't be retrieved, in which case the later windows aren't requested.
+	 */
+	boolean streamCandles(int symbolId, String symbol, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval, Consumer<Candle> consumer) throws RefreshTokenException {
+		TypeAdapter<Candle> candleAdapter = Json.GSON.getAdapter(Candle.class);
+		
+		// The start of the last candle passed to the consumer. Windows share their boundaries, so this skips the repeated candle.
+		Instant[] lastStart = { null };
+		
+		// The candles are only passed on after the response is closed, so the consumer doesn't run while holding a connection
+		Decoder<List<Candle>> decoder = reader -> {
+			List<Candle> candles = new ArrayList<>();
+			reader.beginObject();
+			while(reader.hasNext()) {
+				if(!reader.nextName().equals("candles")) {
+					reader.skipValue();
+					continue;
+				}
+				
+				reader.beginArray();
+				while(reader.hasNext()) {
+					Candle candle = candleAdapter.read(reader);
+					Instant start = ZonedDateTime.parse(candle.getStart()).toInstant();
+					if(lastStart[0] == null || start.isAfter(lastStart[0])) {
+						lastStart[0] = start;
+						candle.setSeries(symbolId, symbol, interval);
+						candles.add(candle);
+					}
+				}
+				reader.endArray();
+			}
+			reader.endObject();
+			return candles;
+		};
+		
+		return requestCandleWindows(symbolId, startTime, endTime, interval, decoder, candles -> candles.forEach(consumer));
+	}
+	
+	/** Returns historical market data for a specified symbol as a {@link CandleSeries}, which stores the candles in primitive arrays
+	 * instead of as {@code Candle} objects. The response is decoded straight into the arrays. Like
+	 * {@link #getCandles(int, ZonedDateTime, ZonedDateTime, Interval, Consumer)}, the time period can be of any length.<br><br>
+	 * If the symbol of the given symbol ID hasn't been seen in a previous response, it is retrieved first using {@link #getSymbol(int, int...)}.
+	 * @param symbolId The internal symbol identifier.
+	 * @param startTime The beginning of the time period to get the candles for.
+	 * @param endTime The end of the time period to get the candles for. 
+	 * @param interval The time between the candles.
+	 * @return A {@code CandleSeries} of the candles within the given time period.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws ArgumentException If the request arguments are invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API, or if a window couldn't be retrieved.
+	 * @see <a href="https://www.questrade.com/api/documentation/rest-operations/market-calls/markets-candles-id">
+	 * The Questrade API <b>GET markets/candles/:id</b> documentation</a>
+	 */
+	public CandleSeries getCandleSeries(int symbolId, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval) throws RefreshTokenException {
+		if(startTime.isAfter(endTime)) {
+			throw new TimeRangeException("The startTime must be earlier than the endTime.");
+		}
+		
+		CandleSeries series = new CandleSeries(symbolId, resolveSymbol(symbolId), interval);
+		
+		boolean complete = requestCandleWindows(symbolId, startTime, endTime, interval, reader -> {
+			series.read(reader);
+			return Boolean.TRUE;
+		}, decoded -> {});
+		
+		if(!complete) {
+			throw new StatusCodeException("A window of candles couldn't be retrieved, so the candle series is incomplete.", 0);
+		}
+		series.trimToSize();
+		return series;
+	}
+	
+	/** Requests the candles of the given time period in windows of at most {@link #MAX_CANDLES_PER_REQUEST} candles, one after another,
+	 * passing each response to the given decoder, then what it decoded to the given handler once the response is closed.
+	 * Consecutive windows share their boundary, so the decoder has to skip the repeated candle.
+	 * Returns {@code false} if a window couldn't be retrieved, in which case the later windows aren't requested.
+	 */
+	private <T> boolean requestCandleWindows(int symbolId, ZonedDateTime startTime, ZonedDateTime endTime, Interval interval,
+			Decoder<T> decoder, Consumer<T> handler) throws RefreshTokenException {
+		ZonedDateTime windowStart = startTime;
+		while(windowStart.isBefore(endTime)) {
+			ZonedDateTime windowEnd = interval.plus(windowStart, MAX_CANDLES_PER_REQUEST - 1);
+			if(windowEnd.isAfter(endTime)) {
+				windowEnd = endTime;
+			}
+			
+			Request request = new Request("v1/markets/candles/" + symbolId);
+			request.setRequestMethod(RequestMethod.GET);
+			request.setApiServer(authorization.getApiServer());
+			request.setAccessToken(authorization.getAccessToken());
+			request.addParameter("startTime", windowStart.format(ISO_FORMATTER));
+			request.addParameter("endTime", windowEnd.format(ISO_FORMATTER));
+			request.addParameter("interval", interval.name());
+			
+			T decoded = sendRequest(request, decoder);
+			if(decoded == null) {
+				return false;
+			}
+			handler.accept(decoded);
+			
+			windowStart = windowEnd;
+		}
+		return true;
+	}
+	
 	/** Private class used for GSON parsing, only in {@link Questrade#getMarkets()} */
 	private class Markets { private Market[] markets; }
 	
@@ -552,9 +1288,7 @@ public class Questrade {
 		request.setApiServer(authorization.getApiServer());
 		request.setAccessToken(authorization.getAccessToken());
 		
-		String marketsJSON = sendRequest(request);
-		
-		Markets markets = new Gson().fromJson(marketsJSON, Markets.class);
+		Markets markets = sendRequest(request, Markets.class);
 		
 		return markets.markets;
 	}
@@ -606,9 +1340,11 @@ public class Questrade {
 			request.addParameter("offset", offset + "");
 		}
 		
-		String symbolsJSON = sendRequest(request);
+		Symbols symbols = sendRequest(request, Symbols.class);
 		
-		Symbols symbols = new Gson().fromJson(symbolsJSON, Symbols.class);
+		for(Symbol symbol : symbols.symbols) {
+			rememberSymbol(symbol.getSymbolId(), symbol.getSymbol());
+		}
 		
 		return symbols.symbols;
 	}
@@ -624,6 +1360,11 @@ public class Questrade {
 	 * The Questrade API <b>GET symbols/:id</b> documentation</a>
 	 */
 	public SymbolInfo[] getSymbol(int id, int ...ids) throws RefreshTokenException {
+		SymbolInfoCache cache = symbolInfoCache;
+		if(cache != null) {
+			return getCachedSymbol(cache, prepend(id, ids));
+		}
+		
 		String URL = "v1/symbols";
 		
 		Request request = new Request(URL);
@@ -645,6 +1386,11 @@ public class Questrade {
 	 * The Questrade API <b>GET symbols/:id</b> documentation</a>
 	 */
 	public SymbolInfo[] getSymbol(int[] ids) throws RefreshTokenException {
+		SymbolInfoCache cache = symbolInfoCache;
+		if(cache != null) {
+			return getCachedSymbol(cache, ids);
+		}
+		
 		String URL = "v1/symbols";
 		
 		Request request = new Request(URL);
@@ -667,6 +1413,11 @@ public class Questrade {
 	 * The Questrade API <b>GET symbols/:id</b> documentation</a>
 	 */
 	public SymbolInfo[] getSymbol(String name, String ...names) throws RefreshTokenException {
+		SymbolInfoCache cache = symbolInfoCache;
+		if(cache != null) {
+			return getCachedSymbol(cache, prepend(name, names));
+		}
+		
 		String URL = "v1/symbols";
 		
 		Request request = new Request(URL);
@@ -688,6 +1439,11 @@ public class Questrade {
 	 * The Questrade API <b>GET symbols/:id</b> documentation</a>
 	 */
 	public SymbolInfo[] getSymbol(String[] names) throws RefreshTokenException {
+		SymbolInfoCache cache = symbolInfoCache;
+		if(cache != null) {
+			return getCachedSymbol(cache, names);
+		}
+		
 		String URL = "v1/symbols";
 		
 		Request request = new Request(URL);
@@ -704,11 +1460,117 @@ public class Questrade {
 	
 	/** Helper method to cut down on code. All getSymbol() methods funnel into here. */
 	private SymbolInfo[] finishGetSymbol(Request request) throws RefreshTokenException {
-		String symbolInfosJSON = sendRequest(request);
-		SymbolInfos symbolsInfos = new Gson().fromJson(symbolInfosJSON, SymbolInfos.class);
+		SymbolInfos symbolsInfos = sendRequest(request, SymbolInfos.class);
+		if(symbolsInfos == null || symbolsInfos.symbols == null) {
+			throw new StatusCodeException("No symbols were returned.", 0);
+		}
+		SymbolInfoCache cache = symbolInfoCache;
+		
+		for(SymbolInfo symbolInfo : symbolsInfos.symbols) {
+			rememberSymbol(symbolInfo.getSymbolId(), symbolInfo.getSymbol());
+			if(cache != null) {
+				cache.put(symbolInfo);
+			}
+		}
+		
 		return symbolsInfos.symbols;
 	}
 	
+	/** Returns the given symbols, taking them from the cache where possible. The symbols that aren't cached are requested
+	 * together in a single request. The symbols are returned in the order they were asked for.
+	 */
+	private SymbolInfo[] getCachedSymbol(SymbolInfoCache cache, int[] ids) throws RefreshTokenException {
+		SymbolInfo[] symbolInfos = new SymbolInfo[ids.length];
+		Set<Integer> missingIds = new LinkedHashSet<>();
+		for(int i = 0; i < ids.length; i++) {
+			symbolInfos[i] = cache.get(ids[i]);
+			if(symbolInfos[i] == null) {
+				missingIds.add(ids[i]);
+			}
+		}
+		
+		if(!missingIds.isEmpty()) {
+			String URL = "v1/symbols";
+			
+			Request request = new Request(URL);
+			request.setRequestMethod(RequestMethod.GET);
+			request.setApiServer(authorization.getApiServer());
+			request.setAccessToken(authorization.getAccessToken());
+			request.addParameter("ids", missingIds.stream().mapToInt(Integer::intValue).toArray());
+			
+			Map<Integer, SymbolInfo> fetched = new HashMap<>();
+			for(SymbolInfo symbolInfo : finishGetSymbol(request)) {
+				fetched.put(symbolInfo.getSymbolId(), symbolInfo);
+			}
+			for(int i = 0; i < ids.length; i++) {
+				if(symbolInfos[i] == null) {
+					symbolInfos[i] = fetched.get(ids[i]);
+				}
+			}
+		}
+		
+		return withoutNulls(symbolInfos);
+	}
+	
+	/** Returns the given symbols, taking them from the cache where possible. The symbols that aren't cached are requested
+	 * together in a single request. The symbols are returned in the order they were asked for.
+	 */
+	private SymbolInfo[] getCachedSymbol(SymbolInfoCache cache, String[] names) throws RefreshTokenException {
+		SymbolInfo[] symbolInfos = new SymbolInfo[names.length];
+		Set<String> missingNames = new LinkedHashSet<>();
+		for(int i = 0; i < names.length; i++) {
+			symbolInfos[i] = cache.get(names[i]);
+			if(symbolInfos[i] == null) {
+				missingNames.add(names[i].toUpperCase(Locale.ROOT));
+			}
+		}
+		
+		if(!missingNames.isEmpty()) {
+			String URL = "v1/symbols";
+			
+			Request request = new Request(URL);
+			request.setRequestMethod(RequestMethod.GET);
+			request.setApiServer(authorization.getApiServer());
+			request.setAccessToken(authorization.getAccessToken());
+			request.addParameter("names", missingNames.toArray(new String[0]));
+			
+			Map<String, SymbolInfo> fetched = new HashMap<>();
+			for(SymbolInfo symbolInfo : finishGetSymbol(request)) {
+				if(symbolInfo.getSymbol() != null) {
+					fetched.put(symbolInfo.getSymbol().toUpperCase(Locale.ROOT), symbolInfo);
+				}
+			}
+			for(int i = 0; i < names.length; i++) {
+				if(symbolInfos[i] == null) {
+					symbolInfos[i] = fetched.get(names[i].toUpperCase(Locale.ROOT));
+				}
+			}
+		}
+		
+		return withoutNulls(symbolInfos);
+	}
+	
+	/** Removes the symbols that the API didn't return. */
+	private static SymbolInfo[] withoutNulls(SymbolInfo[] symbolInfos) {
+		return Arrays.stream(symbolInfos).filter(Objects::nonNull).toArray(SymbolInfo[]::new);
+	}
+	
+	/** Returns a new array with {@code first} followed by {@code rest}. */
+	private static int[] prepend(int first, int[] rest) {
+		int[] all = new int[rest.length + 1];
+		all[0] = first;
+		System.arraycopy(rest, 0, all, 1, rest.length);
+		return all;
+	}
+	
+	/** Returns a new array with {@code first} followed by {@code rest}. */
+	private static String[] prepend(String first, String[] rest) {
+		String[] all = new String[rest.length + 1];
+		all[0] = first;
+		System.arraycopy(rest, 0, all, 1, rest.length);
+		return all;
+	}
+	
 	/** Private class used for GSON parsing, only in {@link Questrade#getQuote(int, int...)} */
 	private class Quotes { private Quote[] quotes; }
 	
@@ -723,22 +1585,12 @@ public class Questrade {
 	 * @return A {@code Quote[]} array, each index containing the quote for each requested symbol.
 	 * @throws RefreshTokenException If the refresh token is invalid.
 	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 * @throws SnapQuoteLimitException If the request would exceed a snap quote limit, and the {@link SnapQuoteBudget} refuses such requests.
 	 * @see <a href="https://www.questrade.com/api/documentation/rest-operations/market-calls/markets-quotes-id">
 	 * The Questrade API <b>GET markets/quotes/:id</b> documentation</a>
 	 */
 	public Quote[] getQuote(int id, int ...ids) throws RefreshTokenException {
-		String URL = "v1/markets/quotes";
-		
-		Request request = new Request(URL);
-		request.setRequestMethod(RequestMethod.GET);
-		request.setApiServer(authorization.getApiServer());
-		request.setAccessToken(authorization.getAccessToken());
-		request.addParameter("ids", id, ids);
-		
-		String quotesJSON = sendRequest(request);
-
-		Quotes quotes = new Gson().fromJson(quotesJSON, Quotes.class);
-		return quotes.quotes;
+		return getQuote(prepend(id, ids));
 	}
 	
 	/**Retrieves a single Level 1 market data quote for one or more symbols. Equivalent to calling
@@ -751,10 +1603,24 @@ public class Questrade {
 	 * @return A {@code Quote[]} array, each index containing the quote for each requested symbol.
 	 * @throws RefreshTokenException If the refresh token is invalid.
 	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 * @throws SnapQuoteLimitException If the request would exceed a snap quote limit, and the {@link SnapQuoteBudget} refuses such requests.
 	 * @see <a href="https://www.questrade.com/api/documentation/rest-operations/market-calls/markets-quotes-id">
 	 * The Questrade API <b>GET markets/quotes/:id</b> documentation</a>
 	 */
 	public Quote[] getQuote(int[] ids) throws RefreshTokenException {
+		SnapQuoteBudget budget = snapQuoteBudget;
+		if(budget != null) {
+			int[] unknown = budget.getUnknownSymbols(ids);
+			if(unknown.length > 0) {
+				budget.addSymbols(getSymbol(unknown));
+			}
+			
+			ids = budget.reserve(ids);
+			if(ids.length == 0) {
+				return new Quote[0];
+			}
+		}
+		
 		String URL = "v1/markets/quotes";
 		
 		Request request = new Request(URL);
@@ -763,77 +1629,209 @@ public class Questrade {
 		request.setAccessToken(authorization.getAccessToken());
 		request.addParameter("ids", ids);
 		
-		String quotesJSON = sendRequest(request);
-		Quotes quotes = new Gson().fromJson(quotesJSON, Quotes.class);
+		Quotes quotes = null;
+		try {
+			quotes = sendRequest(request, Quotes.class);
+		} finally {
+			// A failed request retrieved no snap quotes, so it mustn't use up the budget
+			if(budget != null && quotes == null) {
+				budget.release(ids);
+			}
+		}
+		if(quotes == null) {
+			throw new StatusCodeException("No quotes were returned.", 0);
+		}
+		
+		rememberSymbols(quotes.quotes);
+		if(budget != null) {
+			budget.record(quotes.quotes);
+		}
 		return quotes.quotes;
 	}
 	
+	/** Adds the symbols of the given quotes to {@link #symbolNames}. */
+	private void rememberSymbols(Quote[] quotes) {
+		for(Quote quote : quotes) {
+			rememberSymbol((int) quote.getSymbolId(), quote.getSymbol());
+		}
+	}
+	
+	/** Adds the given symbol to {@link #symbolNames}. */
+	private void rememberSymbol(int symbolId, String symbol) {
+		if(symbol != null) {
+			symbolNames.put(symbolId, symbol);
+		}
+	}
+	
 	/** Represents an error response returned by the Questrade API servers. */
 	private class Error {
 		private int code;
 		private String message;
 	}
 	
+	/** Decodes a successful response body while it is being read. The response holds a transport connection until it is decoded,
+	 * so a decoder mustn't call user code or make other requests: with every connection held, those would wait forever.
+	 */
+	interface Decoder<T> {
+		T decode(JsonReader reader) throws IOException;
+	}
+	
+	/** Sends the given request and decodes the response body into the given type. See {@link #sendRequest(Request, Decoder)}. */
+	private <T> T sendRequest(Request request, Class<T> type) throws RefreshTokenException {
+		return sendRequest(request, reader -> Json.GSON.<T>fromJson(reader, type));
+	}
+	
 	/** Sends the given request. If the access token expires during execution, it will automatically use the cached refresh token
-	 * to get a new access token and retry the request.
+	 * to get a new access token and retry the request. A successful response is decoded straight from the connection as it is
+	 * read, so large responses are never held in memory as a string.
 	 * @param request The API request that contain contains the URL, parameters, request method, etc.
-	 * @return Usually a string in JSON format.
+	 * @param decoder Decodes the response body.
+	 * @return The decoded response body.
 	 * @throws RefreshTokenException If the refresh token is invalid.
 	 * @throws ArgumentException If the request arguments are invalid.
 	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 * @throws RateLimitException If the request exceeds the API's rate limits.
 	 */
-    private String sendRequest(Request request) throws RefreshTokenException {
+    private <T> T sendRequest(Request request, Decoder<T> decoder) throws RefreshTokenException {
+    	RequestMetrics metrics = requestMetrics;
     	
         try {
         	lastRequest = request.toString();
 
-            HttpURLConnection connection = request.getConnection();
-            
-            int statusCode = connection.getResponseCode();
+        	RateLimiter limiter = rateLimiter;
+        	RateLimiter.Category category = (limiter != null) ? RateLimiter.categorize(request.getPath()) : null;
+        	if(category != null) {
+        		limiter.acquire(category);
+        	}
+
+        	RequestTiming timing = interceptors.isEmpty() ? null : new RequestTiming();
+        	if(timing != null) {
+        		for(RequestInterceptor interceptor : interceptors) {
+        			interceptor.beforeSend(request);
+        		}
+        	}
+
+        	int statusCode = 0;
+        	String responseJSON;
+        	long startTime = System.nanoTime();
+        	CountingInputStream counter = null;
+        	
+        	// The response must be closed before retrying, so that its connection is released
+        	try (Response response = transport.send(request)) {
+        		statusCode = response.getStatusCode();
+        		if(timing != null) {
+        			timing.statusCode = statusCode;
+        			timing.headersNanos = System.nanoTime() - startTime;
+        			for(RequestInterceptor interceptor : interceptors) {
+        				interceptor.afterHeaders(request, timing);
+        			}
+        		}
+        		if(category != null) {
+        			limiter.update(category, response);
+        		}
+        		InputStream body = response.getBody();
+        		if(metrics != null || timing != null) {
+        			body = counter = new CountingInputStream(body);
+        		}
+        		
+        		// Response codes in the 200s are "successful"
+        		if (statusCode <= 299 && statusCode >= 200) {
+        			long decodeStart = System.nanoTime();
+        			T decoded = decoder.decode(new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        			if(timing != null) {
+        				long decodeNanos = System.nanoTime() - decodeStart;
+        				afterBodyRead(request, timing, counter);
+        				// The body is read while it is decoded, so the time blocked reading it is taken out of the decode time
+        				timing.decodeNanos = decodeNanos - timing.bodyReadNanos;
+        				for(RequestInterceptor interceptor : interceptors) {
+        					interceptor.afterDecode(request, timing);
+        				}
+        			}
+        			return decoded;
+        		}
+        		
+        		responseJSON = readBody(body);
+        		if(timing != null) {
+        			afterBodyRead(request, timing, counter);
+        		}
+        	} finally {
+        		// Recorded before any retry, so that a retried request counts as two requests with their own latencies
+        		if(metrics != null) {
+        			metrics.recordRequest(request.getPath(), statusCode, System.nanoTime() - startTime,
+        					(counter != null) ? counter.getCount() : 0);
+        		}
+        	}
             
             // This exception is thrown when there's no internet (I'm guessing)
             //java.net.UnknownHostException
-            
-            // Response codes in the 200s are "successful"
-            if (statusCode > 299 || statusCode < 200) {
-            	
-            	BufferedReader in = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-            	String responseJSON = in.readLine();
-            	connection.disconnect();
 
-            	//Extract error from response JSON
-            	Error error;
-            	try {
-            		error = new Gson().fromJson(responseJSON, Error.class);
-            	} catch (JsonSyntaxException e) {
-            		throw new RefreshTokenException("Error code " + statusCode + " was returned. Assuming refresh token is invalid.");
-            	}
-     
-            	// Error code 1017 means access token is invalid or expired
-            	if(error.code == 1017) {
+        	//Extract error from response JSON
+        	Error error;
+        	try {
+        		error = Json.GSON.fromJson(responseJSON, Error.class);
+        	} catch (JsonSyntaxException e) {
+        		error = null;
+        	}
+        	if(metrics != null) {
+        		metrics.recordError(request.getPath(), (error != null) ? error.code : statusCode);
+        	}
+        	
+        	// Status code 429 means too many requests were sent
+        	if(statusCode == 429) {
+        		throw new RateLimitException("The rate limit was exceeded."
+        				+ ((error != null && error.message != null) ? " Reason: " + error.message : ""));
+        	}
+        	
+        	if(error == null) {
+        		throw new RefreshTokenException("Error code " + statusCode + " was returned. Assuming refresh token is invalid.");
+        	}
+ 
+        	// Error code 1017 means access token is invalid or expired
+        	if(error.code == 1017) {
 
-            		retrieveAccessToken(authorization.getRefreshToken()); // get new access token
-            		request.setAccessToken(authorization.getAccessToken()); // set new access token
-            		request.setApiServer(authorization.getApiServer()); // set new api server
-            		return sendRequest(request); // resend fixed-up request
-            	} else if (error.code == 1002 || error.code == 1003 || error.code == 1004) {
-            		throw new ArgumentException(error.message);
-            	}
-              	
-        		throw new StatusCodeException("A bad status code was returned: " + statusCode 
-        				+ ". Reason: " + error.message, statusCode);
-            }
-            
-            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            String responseJSON = in.readLine();
-            connection.disconnect();
-            
-            return responseJSON;
+        		refreshExpiredAuthorization(request.getAccessToken()); // get new access token, or wait for another thread to
+        		Authorization refreshed = authorization;
+        		request.setAccessToken(refreshed.getAccessToken()); // set new access token
+        		request.setApiServer(refreshed.getApiServer()); // set new api server
+        		if(metrics != null) {
+        			metrics.recordRetry(request.getPath());
+        		}
+        		return sendRequest(request, decoder); // resend fixed-up request
+        	} else if (error.code == 1002 || error.code == 1003 || error.code == 1004) {
+        		throw new ArgumentException(error.message);
+        	}
+          	
+    		throw new StatusCodeException("A bad status code was returned: " + statusCode 
+    				+ ". Reason: " + error.message, statusCode);
             
         } catch(IOException e) {
+        	if(metrics != null) {
+        		metrics.recordError(request.getPath(), 0);
+        	}
         	e.printStackTrace();
         }
 
         return null;
     }
+    
+    /** Completes the given timing with the body read time and size measured by the given counter, then notifies the interceptors. */
+    private void afterBodyRead(Request request, RequestTiming timing, CountingInputStream counter) {
+    	timing.bodyReadNanos = counter.getReadNanos();
+    	timing.bytesReceived = counter.getCount();
+    	for(RequestInterceptor interceptor : interceptors) {
+    		interceptor.afterBodyRead(request, timing);
+    	}
+    }
+    
+    /** Reads the whole error response body. */
+    private static String readBody(InputStream body) throws IOException {
+    	StringBuilder builder = new StringBuilder();
+    	Reader in = new InputStreamReader(body, StandardCharsets.UTF_8);
+    	char[] buffer = new char[4096];
+    	int read;
+    	while((read = in.read(buffer)) != -1) {
+    		builder.append(buffer, 0, read);
+    	}
+    	return builder.toString();
+    }
 }
@@ -0,0 +1,124 @@
+package com.jquestrade_room;
+
+import androidx.room.Database;
+import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
+
+/** The Room database that stores the objects returned by the Questrade API. Has one DAO per table.<br><br>
+ * Create it with Room, e.g. {@code Room.databaseBuilder(context, QuestradeDatabase.class, "questrade.db").build()}.
+ * This library doesn't run the Room annotation processor, since the classes it generates need the Android runtime,
+ * so the Android app that uses the database must declare {@code annotationProcessor "androidx.room:room-compiler"}.
+ * The {@code room-verify} module runs it over this library, and tests the database, when an Android SDK is configured.
+ * Every DAO {@code insert} method inserts all of the given objects in a single transaction, so whole API responses
+ * (e.g. tens of thousands of candles) can be stored at once. Use {@link #runInTransaction(Runnable)} to group
+ * inserts into several tables.
+ */
+@Database(
+	entities = {
+			Account.class,
+			Activity.class,
+			Authorization.class,
+			Balances.class,
+			Candle.class,
+			CandleRange.class,
+			Execution.class,
+			Market.class,
+			Order.class,
+			Position.class,
+			Quote.class,
+			Symbol.class,
+			SymbolInfo.class
+	},
+	version = 1,
+	exportSchema = false
+)
+@TypeConverters(Converters.class)
+public abstract class QuestradeDatabase extends RoomDatabase {
+
+	/** Returns the DAO of the {@code Accounts} table.
+	 * @return The DAO of the {@code Accounts} table.
+	 */
+	public abstract AccountDao accountDao();
+
+	/** Returns the DAO of the {@code Activities} table.
+	 * @return The DAO of the {@code Activities} table.
+	 */
+	public abstract ActivityDao activityDao();
+
+	/** Returns the DAO of the {@code Authorization} table.
+	 * @return The DAO of the {@code Authorization} table.
+	 */
+	public abstract AuthorizationDao authorizationDao();
+
+	/** Returns the DAO of the {@code Balances} table.
+	 * @return The DAO of the {@code Balances} table.
+	 */
+	public abstract BalancesDao balancesDao();
+
+	/** Returns the DAO of the {@code Candles} table.
+	 * @return The DAO of the {@code Candles} table.
+	 */
+	public abstract CandleDao candleDao();
+
+	/** Returns the DAO of the {@code CandleRanges} table.
+	 * @return The DAO of the {@code CandleRanges} table.
+	 */
+	public abstract CandleRangeDao candleRangeDao();
+
+	/** Returns the DAO of the {@code Executions} table.
+	 * @return The DAO of the {@code Executions} table.
+	 */
+	public abstract ExecutionDao executionDao();
+
+	/** Returns the DAO of the {@code Markets} table.
+	 * @return The DAO of the {@code Markets} table.
+	 */
+	public abstract MarketDao marketDao();
+
+	/** Returns the DAO of the {@code Orders} table.
+	 * @return The DAO of the {@code Orders} table.
+	 */
+	public abstract OrderDao orderDao();
+
+	/** Returns the DAO of the {@code Positions} table.
+	 * @return The DAO of the {@code Positions} table.
+	 */
+	public abstract PositionDao positionDao();
+
+	/** Returns the DAO of the {@code Quotes} table.
+	 * @return The DAO of the {@code Quotes} table.
+	 */
+	public abstract QuoteDao quoteDao();
+
+	/** Returns the DAO of the {@code Symbols} table.
+	 * @return The DAO of the {@code Symbols} table.
+	 */
+	public abstract SymbolDao symbolDao();
+
+	/** Returns the DAO of the {@code SymbolInfos} table.
+	 * @return The DAO of the {@code SymbolInfos} table.
+	 */
+	public abstract SymbolInfoDao symbolInfoDao();
+
+	/** Stores the balances, positions, orders and executions of every account in the given snapshot, in a single transaction.
+	 * @param snapshot The snapshot to store. See {@link Questrade#getSnapshot(String[], java.time.ZonedDateTime, java.time.ZonedDateTime)}.
+	 */
+	public void insertSnapshot(Snapshot snapshot) {
+		runInTransaction(() -> {
+			for(String accountNumber : snapshot.getAccountNumbers()) {
+				AccountSnapshot accountSnapshot = snapshot.getAccountSnapshot(accountNumber);
+				// Part of the primary keys, so that accounts fetched at the same time don't replace each other's rows
+				Balances balances = accountSnapshot.getBalances();
+				balances.setAccountNumber(accountNumber);
+				balancesDao().insert(balances);
+				Position[] positions = accountSnapshot.getPositions();
+				for(Position position : positions) {
+					position.setAccountNumber(accountNumber);
+				}
+				positionDao().insert(positions);
+				orderDao().insert(accountSnapshot.getOrders());
+				executionDao().insert(accountSnapshot.getExecutions());
+			}
+		});
+	}
+}
@@ -22,6 +22,7 @@ import androidx.room.Entity;
 )
 public class Quote {
 	
+	@NonNull
 	private String symbol;
 	private long symbolId;
 	private String tier;
@@ -83,6 +84,11 @@ public class Quote {
 		return timeOfCreation;
 	}
 	
+	/** Returns the time that this object was created. Used by Room, see {@link #timeOfCreation()}. */
+	ZonedDateTime getTimeOfCreation() {
+		return timeOfCreation;
+	}
+	
 	/** Returns the symbol/ticker following Questrade's symbology.
 	 * @return The symbol/ticker.
 	 */
@@ -206,6 +212,14 @@ public class Quote {
 		return delay != 0;
 	}
 	
+	/** Returns the delay of the quote, as reported by the API. Any value other than 0 means that the quote is delayed,
+	 * e.g. because the snap quote limit of its market was reached (see {@link SnapQuoteBudget}).
+	 * @return The delay of the quote, or 0 if the quote is real-time.
+	 */
+	public int getDelay() {
+		return delay;
+	}
+	
 	/** Returns whether trading in the symbol is currently halted.
 	 * @return Whether trading in the symbol is currently halted.
 	 */
@@ -0,0 +1,20 @@
+package com.jquestrade_room;
+
+/** Receives the quotes polled by a {@link QuotePoller}, but only when they have changed.
+ * Can be written as a lambda function, e.g. {@code poller.subscribeChanges(delta -> update(delta), fields, symbolId)}.
+ */
+@FunctionalInterface
+public interface QuoteChangeListener {
+
+	/** Called when a selected field of a subscribed symbol's quote has changed since the previous poll, and on the first poll of the symbol.
+	 * Called on the poller's thread, so it should return quickly.
+	 * @param delta The new quote, the previous one and which fields changed.
+	 */
+	void onQuoteChange(QuoteDelta delta);
+
+	/** Called when a poll fails, or when {@link #onQuoteChange(QuoteDelta)} throws. Polling carries on at the next period. Does nothing by default.
+	 * @param e The exception that made the poll fail, e.g. a {@link RefreshTokenException} or {@link StatusCodeException},
+	 * or the exception thrown by {@code onQuoteChange}.
+	 */
+	default void onError(Exception e) {}
+}
@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code Quotes} table, which stores {@link Quote} objects.
+ * Get one using {@link QuestradeDatabase#quoteDao()}.
+ */
+@Dao
+public interface QuoteDao {
+	
+	/** Inserts the given quotes in a single transaction, replacing any quotes with the same primary key.
+	 * @param quotes The quotes to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Quote... quotes);
+	
+	/** Inserts the given quotes in a single transaction, replacing any quotes with the same primary key.
+	 * @param quotes The quotes to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Quote> quotes);
+	
+	/** Returns every stored quote.
+	 * @return Every stored quote.
+	 */
+	@Query("SELECT * FROM Quotes")
+	List<Quote> getAll();
+	
+	/** Deletes every stored quote. */
+	@Query("DELETE FROM Quotes")
+	void deleteAll();
+	
+	/** Returns the stored quotes of the given symbol.
+	 * @param symbol The symbol/ticker.
+	 * @return The quotes of the symbol.
+	 */
+	@Query("SELECT * FROM Quotes WHERE symbol = :symbol")
+	List<Quote> getBySymbol(String symbol);
+}
@@ -0,0 +1,57 @@
+package com.jquestrade_room;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/** The change in a symbol's quote from one poll to the next. Passed to a {@link QuoteChangeListener}. */
+public class QuoteDelta {
+
+	private final Quote previous;
+
+	private final Quote quote;
+
+	private final Set<QuoteField> changedFields;
+
+	QuoteDelta(Quote previous, Quote quote, EnumSet<QuoteField> changedFields) {
+		this.previous = previous;
+		this.quote = quote;
+		this.changedFields = Collections.unmodifiableSet(changedFields);
+	}
+
+	/** Returns the quote of the previous poll.
+	 * @return The previous quote, or {@code null} if this is the first poll of the symbol.
+	 */
+	public Quote getPrevious() {
+		return previous;
+	}
+
+	/** Returns the new quote.
+	 * @return The new quote.
+	 */
+	public Quote getQuote() {
+		return quote;
+	}
+
+	/** Returns every field that changed since the previous poll, including the fields the listener didn't subscribe to.
+	 * @return The changed fields. On the first poll of the symbol, this is every field.
+	 */
+	public Set<QuoteField> getChangedFields() {
+		return changedFields;
+	}
+
+	/** Returns whether the given field changed since the previous poll.
+	 * @param field The field to check.
+	 * @return {@code true} if the field changed, or if this is the first poll of the symbol.
+	 */
+	public boolean hasChanged(QuoteField field) {
+		return changedFields.contains(field);
+	}
+
+	/** Returns whether this is the first poll of the symbol, in which case there is no previous quote.
+	 * @return {@code true} if there is no previous quote.
+	 */
+	public boolean isFirst() {
+		return previous == null;
+	}
+}
@@ -0,0 +1,97 @@
+package com.jquestrade_room;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/** The fields of a {@link Quote} that can change from one poll to the next.
+ * Used to choose which changes a {@link QuoteChangeListener} is notified of.
+ */
+public enum QuoteField {
+	/** See {@link Quote#getBidPrice()}. */
+	BidPrice((a, b) -> Double.compare(a.getBidPrice(), b.getBidPrice()) != 0),
+	
+	/** See {@link Quote#getBidSize()}. */
+	BidSize((a, b) -> a.getBidSize() != b.getBidSize()),
+	
+	/** See {@link Quote#getAskPrice()}. */
+	AskPrice((a, b) -> Double.compare(a.getAskPrice(), b.getAskPrice()) != 0),
+	
+	/** See {@link Quote#getAskSize()}. */
+	AskSize((a, b) -> a.getAskSize() != b.getAskSize()),
+	
+	/** See {@link Quote#getLastTradePriceTrHrs()}. */
+	LastTradePriceTrHrs((a, b) -> Double.compare(a.getLastTradePriceTrHrs(), b.getLastTradePriceTrHrs()) != 0),
+	
+	/** See {@link Quote#getLastTradePrice()}. */
+	LastTradePrice((a, b) -> Double.compare(a.getLastTradePrice(), b.getLastTradePrice()) != 0),
+	
+	/** See {@link Quote#getLastTradeSize()}. */
+	LastTradeSize((a, b) -> a.getLastTradeSize() != b.getLastTradeSize()),
+	
+	/** See {@link Quote#getLastTradeTick()}. */
+	LastTradeTick((a, b) -> !Objects.equals(a.getLastTradeTick(), b.getLastTradeTick())),
+	
+	/** See {@link Quote#getLastTradeTime()}. */
+	LastTradeTime((a, b) -> !Objects.equals(a.getLastTradeTime(), b.getLastTradeTime())),
+	
+	/** See {@link Quote#getVolume()}. */
+	Volume((a, b) -> a.getVolume() != b.getVolume()),
+	
+	/** See {@link Quote#getOpenPrice()}. */
+	OpenPrice((a, b) -> Double.compare(a.getOpenPrice(), b.getOpenPrice()) != 0),
+	
+	/** See {@link Quote#getHighPrice()}. */
+	HighPrice((a, b) -> Double.compare(a.getHighPrice(), b.getHighPrice()) != 0),
+	
+	/** See {@link Quote#getLowPrice()}. */
+	LowPrice((a, b) -> Double.compare(a.getLowPrice(), b.getLowPrice()) != 0),
+	
+	/** See {@link Quote#isDelayed()}. */
+	Delay((a, b) -> a.getDelay() != b.getDelay()),
+	
+	/** See {@link Quote#isHalted()}. */
+	IsHalted((a, b) -> a.isHalted() != b.isHalted()),
+	
+	/** See {@link Quote#getHigh52w()}. */
+	High52w((a, b) -> Double.compare(a.getHigh52w(), b.getHigh52w()) != 0),
+	
+	/** See {@link Quote#getLow52w()}. */
+	Low52w((a, b) -> Double.compare(a.getLow52w(), b.getLow52w()) != 0),
+	
+	/** See {@link Quote#getVWAP()}. */
+	VWAP((a, b) -> Double.compare(a.getVWAP(), b.getVWAP()) != 0);
+	
+	private final BiPredicate<Quote, Quote> differs;
+	
+	private QuoteField(BiPredicate<Quote, Quote> differs) {
+		this.differs = differs;
+	}
+	
+	/** Returns whether this field differs between the two given quotes.
+	 * @param previous The earlier quote.
+	 * @param current The later quote.
+	 * @return {@code true} if the field has a different value in each quote.
+	 */
+	public boolean differs(Quote previous, Quote current) {
+		return differs.test(previous, current);
+	}
+	
+	/** Returns the fields that differ between the two given quotes.
+	 * @param previous The earlier quote, or {@code null}, in which case every field is returned.
+	 * @param current The later quote.
+	 * @return The fields that differ.
+	 */
+	public static EnumSet<QuoteField> differences(Quote previous, Quote current) {
+		if(previous == null) {
+			return EnumSet.allOf(QuoteField.class);
+		}
+		EnumSet<QuoteField> fields = EnumSet.noneOf(QuoteField.class);
+		for(QuoteField field : values()) {
+			if(field.differs.test(previous, current)) {
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+}
@@ -0,0 +1,19 @@
+package com.jquestrade_room;
+
+/** Receives the quotes polled by a {@link QuotePoller}.
+ * Can be written as a lambda function, e.g. {@code poller.subscribe(quote -> update(quote), symbolId)}.
+ */
+@FunctionalInterface
+public interface QuoteListener {
+
+	/** Called with each polled quote of a subscribed symbol. Called on the poller's thread, so it should return quickly.
+	 * @param quote The latest quote of the symbol.
+	 */
+	void onQuote(Quote quote);
+
+	/** Called when a poll fails, or when {@link #onQuote(Quote)} throws. Polling carries on at the next period. Does nothing by default.
+	 * @param e The exception that made the poll fail, e.g. a {@link RefreshTokenException} or {@link StatusCodeException},
+	 * or the exception thrown by {@code onQuote}.
+	 */
+	default void onError(Exception e) {}
+}
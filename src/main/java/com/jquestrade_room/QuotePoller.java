@@ -0,0 +1,424 @@
+package com.jquestrade_room;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/** Polls quotes on behalf of many listeners. Each listener subscribes to its own symbols; every period, the symbol IDs of all
+ * subscriptions are deduplicated and packed into as few {@code markets/quotes?ids=} requests as possible, and each quote is
+ * passed to every listener subscribed to its symbol.<br><br>
+ * A {@link QuoteChangeListener} subscribed using {@link #subscribeChanges(QuoteChangeListener, Set, int[])} is only passed a quote
+ * when one of its selected fields changed since the previous poll. Each such subscription keeps the last quote of its own symbols for this,
+ * so a new subscription receives the first quote of each of its symbols even if other subscriptions already poll them.
+ * A listener subscribed several times to a symbol receives each of its quotes at most once: a plain listener always,
+ * and a change listener if a field of any of its subscriptions changed.<br><br>
+ * Exceptions thrown by a listener are passed to its {@code onError} method, and exceptions thrown by {@code onError} to the
+ * poller's error handler, see {@link #setErrorHandler(Consumer)}. Neither stops the other listeners from receiving their quotes.<br><br>
+ * Example:
+ * <pre>{@code QuotePoller poller = new QuotePoller(q, 1000).start();
+ * QuotePoller.Subscription s = poller.subscribe(quote -> show(quote), symbolId1, symbolId2);
+ * ...
+ * s.cancel();
+ * poller.close();}</pre>
+ */
+public class QuotePoller implements Closeable {
+
+	/** The default time between polls, in milliseconds. */
+	public static final long DEFAULT_PERIOD = 1000;
+
+	/** The maximum length of the {@code ids} parameter of one request. Keeps the whole URL well under the 2,048 characters
+	 * that servers and proxies commonly accept.
+	 */
+	static final int MAX_IDS_LENGTH = 1800;
+
+	/** A listener's interest in a set of symbols. Cancel it to stop receiving their quotes. */
+	public class Subscription implements Closeable {
+
+		/** The listener of a {@link QuoteListener} subscription, otherwise {@code null}. */
+		private final QuoteListener listener;
+
+		/** The listener of a {@link QuoteChangeListener} subscription, otherwise {@code null}. */
+		private final QuoteChangeListener changeListener;
+
+		/** The fields whose changes {@link #changeListener} is notified of. */
+		private final EnumSet<QuoteField> fields;
+
+		private final int[] symbolIds;
+
+		/** The quote of the previous poll of each symbol, for a {@link QuoteChangeListener} subscription. */
+		private final Map<Integer, Quote> lastQuotes = new ConcurrentHashMap<>();
+
+		private Subscription(QuoteListener listener, QuoteChangeListener changeListener, EnumSet<QuoteField> fields, int[] symbolIds) {
+			this.listener = listener;
+			this.changeListener = changeListener;
+			this.fields = fields;
+			this.symbolIds = symbolIds;
+		}
+
+		/** Returns the listener object, for telling apart two subscriptions of the same listener. */
+		private Object getListener() {
+			return (listener != null) ? listener : changeListener;
+		}
+
+		/** Passes the given exception to the listener's {@code onError} method, or to the poller's error handler if that throws. */
+		private void reportError(Exception e) {
+			try {
+				if(listener != null) {
+					listener.onError(e);
+				} else {
+					changeListener.onError(e);
+				}
+			} catch (RuntimeException listenerException) {
+				handleError(listenerException);
+			}
+		}
+
+		/** Returns the subscribed symbol IDs.
+		 * @return A copy of the subscribed symbol IDs.
+		 */
+		public int[] getSymbolIds() {
+			return symbolIds.clone();
+		}
+
+		/** Stops passing quotes to this subscription's listener. */
+		public void cancel() {
+			subscriptions.remove(this);
+		}
+
+		/** Same as {@link #cancel()}. */
+		@Override
+		public void close() {
+			cancel();
+		}
+	}
+
+	private final Questrade questrade;
+
+	private final long period;
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	private ScheduledExecutorService scheduler;
+
+	private ScheduledFuture<?> polling;
+
+	private final AtomicLong polls = new AtomicLong();
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private volatile Consumer<Exception> errorHandler = null;
+
+	/** Creates a poller that polls every {@link #DEFAULT_PERIOD} milliseconds once started.
+	 * @param questrade The {@code Questrade} object to poll through.
+	 */
+	public QuotePoller(Questrade questrade) {
+		this(questrade, DEFAULT_PERIOD);
+	}
+
+	/** Creates a poller.
+	 * @param questrade The {@code Questrade} object to poll through.
+	 * @param period The time between polls, in milliseconds.
+	 */
+	public QuotePoller(Questrade questrade, long period) {
+		if(questrade == null) {
+			throw new ArgumentException("questrade argument cannot be null");
+		}
+		if(period < 1) {
+			throw new ArgumentException("period argument cannot be less than 1");
+		}
+		this.questrade = questrade;
+		this.period = period;
+	}
+
+	/** Subscribes the given listener to the quotes of the given symbols. The listener receives them from the next poll on.
+	 * @param listener The listener to pass the quotes to.
+	 * @param symbolId The internal identifier of a symbol.
+	 * @param symbolIds Optional parameter for subscribing to more symbols.
+	 * @return The subscription, which can be cancelled.
+	 */
+	public Subscription subscribe(QuoteListener listener, int symbolId, int ...symbolIds) {
+		int[] all = new int[symbolIds.length + 1];
+		all[0] = symbolId;
+		System.arraycopy(symbolIds, 0, all, 1, symbolIds.length);
+		return subscribe(listener, all);
+	}
+
+	/** Subscribes the given listener to the quotes of the given symbols. The listener receives them from the next poll on.
+	 * @param listener The listener to pass the quotes to.
+	 * @param symbolIds The internal identifiers of the symbols.
+	 * @return The subscription, which can be cancelled.
+	 */
+	public Subscription subscribe(QuoteListener listener, int[] symbolIds) {
+		if(listener == null) {
+			throw new ArgumentException("listener argument cannot be null");
+		}
+		return add(new Subscription(listener, null, null, symbolIds.clone()));
+	}
+
+	/** Subscribes the given listener to the changes of the given fields in the quotes of the given symbols. The listener receives the first
+	 * quote of each symbol, and after that only the quotes in which at least one of the given fields changed since the previous poll.
+	 * @param listener The listener to pass the changes to.
+	 * @param fields The fields whose changes the listener is notified of. (Eg: {@code EnumSet.of(QuoteField.BidPrice, QuoteField.AskPrice)})
+	 * @param symbolId The internal identifier of a symbol.
+	 * @param symbolIds Optional parameter for subscribing to more symbols.
+	 * @return The subscription, which can be cancelled.
+	 */
+	public Subscription subscribeChanges(QuoteChangeListener listener, Set<QuoteField> fields, int symbolId, int ...symbolIds) {
+		int[] all = new int[symbolIds.length + 1];
+		all[0] = symbolId;
+		System.arraycopy(symbolIds, 0, all, 1, symbolIds.length);
+		return subscribeChanges(listener, fields, all);
+	}
+
+	/** Subscribes the given listener to the changes of the given fields in the quotes of the given symbols. The listener receives the first
+	 * quote of each symbol, and after that only the quotes in which at least one of the given fields changed since the previous poll.
+	 * @param listener The listener to pass the changes to.
+	 * @param fields The fields whose changes the listener is notified of. (Eg: {@code EnumSet.of(QuoteField.BidPrice, QuoteField.AskPrice)})
+	 * @param symbolIds The internal identifiers of the symbols.
+	 * @return The subscription, which can be cancelled.
+	 */
+	public Subscription subscribeChanges(QuoteChangeListener listener, Set<QuoteField> fields, int[] symbolIds) {
+		if(listener == null) {
+			throw new ArgumentException("listener argument cannot be null");
+		}
+		if(fields.isEmpty()) {
+			throw new ArgumentException("fields argument cannot be empty");
+		}
+		return add(new Subscription(null, listener, EnumSet.copyOf(fields), symbolIds.clone()));
+	}
+
+	/** Sets the function that is passed the exceptions thrown by the listeners' {@code onError} methods.
+	 * If it is {@code null}, which is the default, they are passed to the uncaught exception handler of the polling thread.
+	 * @param errorHandler The function to pass the exceptions to. (Eg: {@code e -> log.warn("Quote listener failed", e)})
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public QuotePoller setErrorHandler(Consumer<Exception> errorHandler) {
+		this.errorHandler = errorHandler;
+		return this;
+	}
+
+	private Subscription add(Subscription subscription) {
+		if(subscription.symbolIds.length == 0) {
+			throw new ArgumentException("symbolIds argument cannot be empty");
+		}
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	/** Starts polling every period, on a daemon thread. Does nothing if already started.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public synchronized QuotePoller start() {
+		if(polling == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(Threads.daemonThreadFactory("questrade-quote-poller"));
+			polling = scheduler.scheduleAtFixedRate(this::pollAndReport, 0, period, TimeUnit.MILLISECONDS);
+		}
+		return this;
+	}
+
+	/** Stops polling. The subscriptions are kept, so polling can be started again. */
+	public synchronized void stop() {
+		if(polling != null) {
+			polling.cancel(false);
+			scheduler.shutdown();
+			polling = null;
+			scheduler = null;
+		}
+	}
+
+	/** Stops polling. Same as {@link #stop()}. */
+	@Override
+	public void close() {
+		stop();
+	}
+
+	/** Polls the quotes of every subscribed symbol once, on the calling thread, and passes them to the listeners.
+	 * Can be used instead of {@link #start()} to poll on your own schedule.<br><br>
+	 * If one of the requests fails, the quotes of the others are still passed to the listeners, and then the first failure is thrown
+	 * with the later ones added to it as suppressed exceptions. A {@code RefreshTokenException} is thrown right away, since the
+	 * remaining requests would fail too.
+	 * @throws RefreshTokenException If the refresh token is invalid.
+	 * @throws StatusCodeException If an error occurs when contacting the Questrade API.
+	 */
+	public void poll() throws RefreshTokenException {
+		Map<Integer, List<Subscription>> subscribers = new LinkedHashMap<>();
+		for(Subscription subscription : subscriptions) {
+			for(int symbolId : subscription.symbolIds) {
+				List<Subscription> symbolSubscribers = subscribers.get(symbolId);
+				if(symbolSubscribers == null) {
+					symbolSubscribers = new ArrayList<>(1);
+					subscribers.put(symbolId, symbolSubscribers);
+				}
+				// Change subscriptions are all kept, since each one tracks its own previous quotes
+				if(subscription.listener == null || !containsListener(symbolSubscribers, subscription)) {
+					symbolSubscribers.add(subscription);
+				}
+			}
+		}
+		if(subscribers.isEmpty()) {
+			return;
+		}
+
+		polls.incrementAndGet();
+		RuntimeException failure = null;
+		for(int[] batch : batch(subscribers.keySet())) {
+			requests.incrementAndGet();
+			Quote[] quotes;
+			try {
+				quotes = questrade.getQuote(batch);
+			} catch (RuntimeException e) {
+				if(failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+				continue;
+			}
+			for(Quote quote : quotes) {
+				List<Subscription> symbolSubscribers = subscribers.get((int) quote.getSymbolId());
+				if(symbolSubscribers != null) {
+					deliver(symbolSubscribers, quote);
+				}
+			}
+		}
+		if(failure != null) {
+			throw failure;
+		}
+	}
+
+	/** Returns the time between polls.
+	 * @return The time between polls, in milliseconds.
+	 */
+	public long getPeriod() {
+		return period;
+	}
+
+	/** Returns how many polls have been made. Polls without any subscriptions aren't counted.
+	 * @return The number of polls.
+	 */
+	public long getPollCount() {
+		return polls.get();
+	}
+
+	/** Returns how many quote requests have been sent. Each poll sends one request per batch of symbol IDs.
+	 * @return The number of requests.
+	 */
+	public long getRequestCount() {
+		return requests.get();
+	}
+
+	/** Packs the given symbol IDs into batches whose comma-separated {@code ids} parameter fits in {@link #MAX_IDS_LENGTH} characters. */
+	static List<int[]> batch(Set<Integer> symbolIds) {
+		List<int[]> batches = new ArrayList<>();
+		int[] batch = new int[symbolIds.size()];
+		int count = 0;
+		int length = 0;
+		for(int symbolId : symbolIds) {
+			int idLength = Integer.toString(symbolId).length() + ((count > 0) ? 1 : 0);
+			if(count > 0 && length + idLength > MAX_IDS_LENGTH) {
+				batches.add(Arrays.copyOf(batch, count));
+				count = 0;
+				length = 0;
+				idLength--;
+			}
+			batch[count++] = symbolId;
+			length += idLength;
+		}
+		if(count > 0) {
+			batches.add(Arrays.copyOf(batch, count));
+		}
+		return batches;
+	}
+
+	/** Runs one scheduled poll, reporting a failure to every listener instead of stopping the schedule. */
+	private void pollAndReport() {
+		try {
+			poll();
+		} catch (RefreshTokenException | RuntimeException e) {
+			Set<Object> notified = new HashSet<>();
+			for(Subscription subscription : subscriptions) {
+				if(notified.add(subscription.getListener())) {
+					subscription.reportError(e);
+				}
+			}
+		}
+	}
+
+	/** Passes an exception thrown by a listener's {@code onError} method to the error handler. */
+	private void handleError(RuntimeException e) {
+		Consumer<Exception> handler = errorHandler;
+		if(handler != null) {
+			try {
+				handler.accept(e);
+				return;
+			} catch (RuntimeException handlerException) {
+				handlerException.addSuppressed(e);
+				e = handlerException;
+			}
+		}
+		Thread thread = Thread.currentThread();
+		thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+	}
+
+	/** Passes a quote to the subscribers of its symbol. Change listeners are only passed it if one of their fields changed,
+	 * and only once even if several of their subscriptions include the symbol.
+	 * A listener that throws is passed the exception, and doesn't stop the others from receiving the quote.
+	 */
+	private void deliver(List<Subscription> symbolSubscribers, Quote quote) {
+		int symbolId = (int) quote.getSymbolId();
+		QuoteDelta delta = null;
+		List<QuoteChangeListener> notified = null;
+
+		for(Subscription subscription : symbolSubscribers) {
+			try {
+				if(subscription.listener != null) {
+					subscription.listener.onQuote(quote);
+					continue;
+				}
+
+				// Subscriptions made at the same time share their previous quote, so they share the delta too
+				Quote previous = subscription.lastQuotes.put(symbolId, quote);
+				if(delta == null || delta.getPrevious() != previous) {
+					delta = new QuoteDelta(previous, quote, QuoteField.differences(previous, quote));
+				}
+				if(!delta.isFirst() && Collections.disjoint(delta.getChangedFields(), subscription.fields)) {
+					continue;
+				}
+				if(notified == null) {
+					notified = new ArrayList<>(1);
+				} else if(notified.contains(subscription.changeListener)) {
+					continue;
+				}
+				notified.add(subscription.changeListener);
+				subscription.changeListener.onQuoteChange(delta);
+			} catch (RuntimeException e) {
+				subscription.reportError(e);
+			}
+		}
+	}
+
+	/** Returns whether the given subscriptions include one with the same listener as the given subscription. */
+	private static boolean containsListener(List<Subscription> subscriptions, Subscription subscription) {
+		for(Subscription other : subscriptions) {
+			if(other.getListener() == subscription.getListener()) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
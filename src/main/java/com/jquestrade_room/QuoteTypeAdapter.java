@@ -0,0 +1,107 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/** Reflection-free type adapter for {@link Quote}. */
+final class QuoteTypeAdapter extends TypeAdapter<Quote> {
+
+	@Override
+	public void write(JsonWriter out, Quote quote) throws IOException {
+		if(quote == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("symbol").value(quote.getSymbol());
+		out.name("symbolId").value(quote.getSymbolId());
+		out.name("tier").value(quote.getTier());
+		out.name("bidPrice").value(quote.getBidPrice());
+		out.name("bidSize").value(quote.getBidSize());
+		out.name("askPrice").value(quote.getAskPrice());
+		out.name("askSize").value(quote.getAskSize());
+		out.name("lastTradePriceTrHrs").value(quote.getLastTradePriceTrHrs());
+		out.name("lastTradePrice").value(quote.getLastTradePrice());
+		out.name("lastTradeSize").value(quote.getLastTradeSize());
+		out.name("lastTradeTick").value(quote.getLastTradeTick());
+		out.name("lastTradeTime").value(quote.getLastTradeTime());
+		out.name("volume").value(quote.getVolume());
+		out.name("openPrice").value(quote.getOpenPrice());
+		out.name("highPrice").value(quote.getHighPrice());
+		out.name("lowPrice").value(quote.getLowPrice());
+		out.name("delay").value(quote.getDelay());
+		out.name("isHalted").value(quote.isHalted());
+		out.name("high52w").value(quote.getHigh52w());
+		out.name("low52w").value(quote.getLow52w());
+		out.name("VWAP").value(quote.getVWAP());
+		out.endObject();
+	}
+
+	@Override
+	public Quote read(JsonReader in) throws IOException {
+		if(in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		String symbol = null;
+		long symbolId = 0;
+		String tier = null;
+		double bidPrice = 0;
+		int bidSize = 0;
+		double askPrice = 0;
+		int askSize = 0;
+		double lastTradePriceTrHrs = 0;
+		double lastTradePrice = 0;
+		int lastTradeSize = 0;
+		String lastTradeTick = null;
+		String lastTradeTime = null;
+		long volume = 0;
+		double openPrice = 0;
+		double highPrice = 0;
+		double lowPrice = 0;
+		int delay = 0;
+		boolean isHalted = false;
+		double high52w = 0;
+		double low52w = 0;
+		double VWAP = 0;
+
+		in.beginObject();
+		while(in.hasNext()) {
+			switch(in.nextName()) {
+				case "symbol": symbol = Json.nextString(in); break;
+				case "symbolId": symbolId = Json.nextLong(in); break;
+				case "tier": tier = Json.nextString(in); break;
+				case "bidPrice": bidPrice = Json.nextDouble(in); break;
+				case "bidSize": bidSize = Json.nextInt(in); break;
+				case "askPrice": askPrice = Json.nextDouble(in); break;
+				case "askSize": askSize = Json.nextInt(in); break;
+				case "lastTradePriceTrHrs": lastTradePriceTrHrs = Json.nextDouble(in); break;
+				case "lastTradePrice": lastTradePrice = Json.nextDouble(in); break;
+				case "lastTradeSize": lastTradeSize = Json.nextInt(in); break;
+				case "lastTradeTick": lastTradeTick = Json.nextString(in); break;
+				case "lastTradeTime": lastTradeTime = Json.nextString(in); break;
+				case "volume": volume = Json.nextLong(in); break;
+				case "openPrice": openPrice = Json.nextDouble(in); break;
+				case "highPrice": highPrice = Json.nextDouble(in); break;
+				case "lowPrice": lowPrice = Json.nextDouble(in); break;
+				case "delay": delay = Json.nextInt(in); break;
+				case "isHalted": isHalted = Json.nextBoolean(in); break;
+				case "high52w": high52w = Json.nextDouble(in); break;
+				case "low52w": low52w = Json.nextDouble(in); break;
+				case "VWAP": VWAP = Json.nextDouble(in); break;
+				default: in.skipValue();
+			}
+		}
+		in.endObject();
+
+		return new Quote(symbol, symbolId, tier, bidPrice, bidSize, askPrice, askSize, lastTradePriceTrHrs, lastTradePrice,
+				lastTradeSize, lastTradeTick, lastTradeTime, volume, openPrice, highPrice, lowPrice, delay, isHalted, high52w,
+				low52w, VWAP, ZonedDateTime.now());
+	}
+}
@@ -0,0 +1,11 @@
+package com.jquestrade_room;
+
+/** Thrown when a request exceeds the Questrade API's rate limits, either because the server refused it (status code 429)
+ * or because a {@link RateLimiter} with the {@link RateLimiter.Policy#Reject} policy refused to send it.
+ */
+@SuppressWarnings("serial")
+public class RateLimitException extends StatusCodeException {
+	public RateLimitException(String reason) {
+		super(reason, 429);
+	}
+}
@@ -0,0 +1,255 @@
+package com.jquestrade_room;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Keeps requests within the Questrade API's rate limits, so that the server never has to refuse them.
+ * Account calls and market data calls are limited separately, each by a per-second and a per-hour token bucket.<br><br>
+ * A request that would exceed a limit is either delayed until it fits ({@link Policy#Wait}, the default)
+ * or refused with a {@link RateLimitException} without being sent ({@link Policy#Reject}).<br><br>
+ * The hourly buckets follow the server's own count once known: every response's {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} headers set the number of requests left and the time at which the hourly limit resets,
+ * whether that is more or fewer than this limiter counted.<br><br>
+ * Used by {@link Questrade}, which doesn't limit requests unless given one. See {@link Questrade#setRateLimiter(RateLimiter)}.
+ * @see <a href="https://www.questrade.com/api/documentation/rate-limiting">The Questrade API rate limiting documentation</a>
+ */
+public class RateLimiter {
+
+	/** The maximum number of account calls per second. */
+	public static final int ACCOUNT_CALLS_PER_SECOND = 30;
+
+	/** The maximum number of account calls per hour. */
+	public static final int ACCOUNT_CALLS_PER_HOUR = 30000;
+
+	/** The maximum number of market data calls per second. */
+	public static final int MARKET_CALLS_PER_SECOND = 20;
+
+	/** The maximum number of market data calls per hour. */
+	public static final int MARKET_CALLS_PER_HOUR = 15000;
+
+	private static final long SECOND_MILLIS = 1000;
+
+	private static final long HOUR_MILLIS = 3600 * SECOND_MILLIS;
+
+	/** What to do with a request that would exceed a limit. */
+	public enum Policy {
+		/** Delay the request until it fits within the limits. */
+		Wait,
+		/** Throw a {@link RateLimitException} instead of sending the request. */
+		Reject;
+	}
+
+	/** The groups of API calls that are limited separately. */
+	public enum Category {
+		/** The {@code v1/accounts/...} and {@code v1/time} calls. */
+		AccountCalls,
+		/** The {@code v1/markets/...} and {@code v1/symbols/...} calls. */
+		MarketCalls;
+	}
+
+	/** A token bucket that holds up to {@code capacity} tokens and refills at {@code capacity} tokens per {@code periodMillis}.
+	 * The tokens can go negative: each token taken past zero is a request reserved to be sent once the bucket refills.
+	 * Once the server reports when its window resets, the bucket stops refilling gradually and refills completely at that time.
+	 */
+	private static class Bucket {
+
+		private final int capacity;
+
+		private final long periodMillis;
+
+		private double tokens;
+
+		private long refillMillis;
+
+		/** The time at which the server's window resets, or 0 if it isn't known. */
+		private long resetMillis = 0;
+
+		private Bucket(int capacity, long periodMillis, long now) {
+			this.capacity = capacity;
+			this.periodMillis = periodMillis;
+			this.tokens = capacity;
+			this.refillMillis = now;
+		}
+
+		private void refill(long now) {
+			if(resetMillis != 0) {
+				if(now >= resetMillis) {
+					// Requests reserved while the window was exhausted count against the new one
+					tokens = capacity + Math.min(tokens, 0);
+					resetMillis = 0;
+					refillMillis = now;
+				}
+				return;
+			}
+			tokens = Math.min(capacity, tokens + (now - refillMillis) * capacity / (double) periodMillis);
+			refillMillis = now;
+		}
+
+		/** Returns how long until a token is available, in milliseconds. */
+		private long delay(long now) {
+			refill(now);
+			if(tokens >= 1) {
+				return 0;
+			}
+			if(resetMillis != 0) {
+				return resetMillis - now;
+			}
+			return (long) Math.ceil((1 - tokens) * periodMillis / capacity);
+		}
+
+		/** Takes a token and returns how long to wait before using it, in milliseconds. */
+		private long take(long now) {
+			long delay = delay(now);
+			tokens--;
+			return delay;
+		}
+
+		/** Takes the server's count of the requests left in the current window, and the time at which the window resets. */
+		private void calibrate(int remaining, long resetMillis, long now) {
+			refill(now);
+			// The server's count replaces the local one, minus the requests reserved here that the server hasn't seen yet
+			tokens = Math.min(capacity, remaining) + Math.min(tokens, 0);
+			if(resetMillis > now) {
+				this.resetMillis = resetMillis;
+			}
+		}
+	}
+
+	/** The per-second and per-hour buckets of a category. */
+	private static class Limits {
+
+		private final Bucket perSecond;
+
+		private final Bucket perHour;
+
+		private Limits(int perSecond, int perHour, long now) {
+			this.perSecond = new Bucket(perSecond, SECOND_MILLIS, now);
+			this.perHour = new Bucket(perHour, HOUR_MILLIS, now);
+		}
+	}
+
+	private final Policy policy;
+
+	private final Limits accountLimits;
+
+	private final Limits marketLimits;
+
+	private final AtomicLong delayed = new AtomicLong();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	/** Creates a rate limiter with the {@link Policy#Wait} policy. */
+	public RateLimiter() {
+		this(Policy.Wait);
+	}
+
+	/** Creates a rate limiter.
+	 * @param policy What to do with a request that would exceed a limit.
+	 */
+	public RateLimiter(Policy policy) {
+		if(policy == null) {
+			throw new ArgumentException("policy argument cannot be null");
+		}
+		long now = System.currentTimeMillis();
+		this.policy = policy;
+		this.accountLimits = new Limits(ACCOUNT_CALLS_PER_SECOND, ACCOUNT_CALLS_PER_HOUR, now);
+		this.marketLimits = new Limits(MARKET_CALLS_PER_SECOND, MARKET_CALLS_PER_HOUR, now);
+	}
+
+	/** Returns what is done with a request that would exceed a limit.
+	 * @return The policy.
+	 */
+	public Policy getPolicy() {
+		return policy;
+	}
+
+	/** Returns how many more requests of the given category can be sent this hour, as far as this limiter knows.
+	 * @param category The category of the requests.
+	 * @return The number of requests left this hour. Negative if requests are waiting for the hourly limit to reset.
+	 */
+	public int getRemaining(Category category) {
+		Limits limits = getLimits(category);
+		synchronized(limits) {
+			limits.perHour.refill(System.currentTimeMillis());
+			return (int) Math.floor(limits.perHour.tokens);
+		}
+	}
+
+	/** Returns how many requests were delayed to stay within the limits.
+	 * @return The number of delayed requests.
+	 */
+	public long getDelayedCount() {
+		return delayed.get();
+	}
+
+	/** Returns how many requests were refused to stay within the limits.
+	 * @return The number of refused requests.
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/** Returns the category of the request with the given path, or {@code null} if the request isn't rate limited (e.g. the login requests). */
+	static Category categorize(String path) {
+		if(path.startsWith("v1/accounts") || path.startsWith("v1/time")) {
+			return Category.AccountCalls;
+		}
+		if(path.startsWith("v1/markets") || path.startsWith("v1/symbols")) {
+			return Category.MarketCalls;
+		}
+		return null;
+	}
+
+	/** Takes a permit to send a request of the given category, waiting for it if needed.
+	 * @throws RateLimitException If the policy is {@link Policy#Reject} and the request would exceed a limit.
+	 */
+	void acquire(Category category) {
+		Limits limits = getLimits(category);
+		long waitMillis;
+		synchronized(limits) {
+			long now = System.currentTimeMillis();
+			if(policy == Policy.Reject) {
+				long delay = Math.max(limits.perSecond.delay(now), limits.perHour.delay(now));
+				if(delay > 0) {
+					rejected.incrementAndGet();
+					throw new RateLimitException("The " + category + " rate limit would be exceeded. Retry in " + delay + " ms.");
+				}
+			}
+			waitMillis = Math.max(limits.perSecond.take(now), limits.perHour.take(now));
+		}
+
+		if(waitMillis > 0) {
+			delayed.incrementAndGet();
+			try {
+				Thread.sleep(waitMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Interrupted while waiting for the rate limit");
+			}
+		}
+	}
+
+	/** Calibrates the hourly limit of the given category using the rate limit headers of a response. */
+	void update(Category category, Response response) {
+		String remaining = response.getHeader("X-RateLimit-Remaining");
+		if(remaining == null) {
+			return;
+		}
+
+		String reset = response.getHeader("X-RateLimit-Reset");
+		Limits limits = getLimits(category);
+		try {
+			int remainingCount = Integer.parseInt(remaining.trim());
+			long resetMillis = (reset != null) ? Long.parseLong(reset.trim()) * SECOND_MILLIS : 0;
+			synchronized(limits) {
+				limits.perHour.calibrate(remainingCount, resetMillis, System.currentTimeMillis());
+			}
+		} catch (NumberFormatException e) {
+			// Malformed headers are ignored, and the local count is kept
+		}
+	}
+
+	private Limits getLimits(Category category) {
+		return (category == Category.AccountCalls) ? accountLimits : marketLimits;
+	}
+}
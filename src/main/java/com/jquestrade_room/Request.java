@@ -3,23 +3,34 @@ package com.jquestrade_room;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-/** Represents an HTTPS request. */
-class Request {
+/** Represents an HTTPS request. Requests are created by {@link Questrade} and sent by its {@link Transport}. */
+public class Request {
 	
 	/** Request methods for the HTTP request */
-	enum RequestMethod {
+	public enum RequestMethod {
 		GET, 
 		POST;
 	}
 	
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+	
 	private String accessToken;
 	
 	private int parameterCount = 0;
 	
 	private String requestMethod = "GET";
 	
-	private String path;
+	/** The path and the parameters added so far. Appended to in place, so adding a long list of values copies it only once. */
+	private final StringBuilder path;
+	
+	/** {@link #path} as a string, or {@code null} if it changed since it was last built. */
+	private String pathString;
+	
+	/** The full URL, or {@code null} if the path or API server changed since it was last built. */
+	private String url;
 
 	private String contentType;
 	
@@ -27,7 +38,8 @@ class Request {
 	
 
 	Request(String path) {
-        this.path = path;
+		// Leaves room for a few parameters, so most requests never grow the buffer
+		this.path = new StringBuilder(path.length() + 64).append(path);
 	}
 	
 	void setRequestMethod(RequestMethod requestMethod) {
@@ -35,47 +47,109 @@ class Request {
 	}
 	
 	void addParameter(String key, String[] values) {
-		path += ((parameterCount == 0) ? "?" : "&")
-			+ key + "=" + values[0];
+		int length = 0;
+		for(int i = 0; i < values.length; i++) {
+			length += values[i].length() + 1;
+		}
+		startParameter(key, length);
 		
+		appendEncoded(values[0]);
 		for(int i = 1; i < values.length; i++) {
-			path += "," + values[i];
+			path.append(',');
+			appendEncoded(values[i]);
 		}
-		
-		parameterCount++;
 	}
 	
 	void addParameter(String key, int[] values) {
-		path += ((parameterCount == 0) ? "?" : "&")
-			+ key + "=" + values[0];
+		// IDs are usually around 5 to 7 digits
+		startParameter(key, values.length * 8);
 		
+		path.append(values[0]);
 		for(int i = 1; i < values.length; i++) {
-			path += "," + values[i];
+			path.append(',').append(values[i]);
 		}
-		
-		parameterCount++;
 	}
 	
 	void addParameter(String key, String value, String ...values) {
-		path += ((parameterCount == 0) ? "?" : "&")
-			+ key + "=" + value;
-		
+		int length = value.length();
 		for(int i = 0; i < values.length; i++) {
-			path += "," + values[i];
+			length += values[i].length() + 1;
 		}
+		startParameter(key, length);
 		
-		parameterCount++;
+		appendEncoded(value);
+		for(int i = 0; i < values.length; i++) {
+			path.append(',');
+			appendEncoded(values[i]);
+		}
 	}
 	
 	void addParameter(String key, int value, int ...values) {
-		path += ((parameterCount == 0) ? "?" : "&")
-			+ key + "=" + value;
+		startParameter(key, (values.length + 1) * 8);
 		
+		path.append(value);
 		for(int i = 0; i < values.length; i++) {
-			path += "," + values[i];
+			path.append(',').append(values[i]);
 		}
-		
+	}
+	
+	/** Appends the separator and key of a new parameter, after making room for about {@code valuesLength} more characters of values. */
+	private void startParameter(String key, int valuesLength) {
+		path.ensureCapacity(path.length() + key.length() + 2 + valuesLength);
+		path.append((parameterCount == 0) ? '?' : '&').append(key).append('=');
 		parameterCount++;
+		pathString = null;
+		url = null;
+	}
+	
+	/** Appends the given parameter value, percent-encoding every character that isn't allowed as is in a query value.
+	 * Notably, the {@code +} of a time zone offset is encoded, since servers decode a bare {@code +} as a space.
+	 */
+	private void appendEncoded(String value) {
+		int runStart = 0;
+		for(int i = 0; i < value.length(); i++) {
+			if(isUnreserved(value.charAt(i))) {
+				continue;
+			}
+			// Appends the characters since the last encoded one in one go
+			path.append(value, runStart, i);
+			
+			int codePoint = value.codePointAt(i);
+			if(Character.isSupplementaryCodePoint(codePoint)) {
+				i++;
+			}
+			
+			// Percent-encodes the UTF-8 bytes of the character
+			if(codePoint < 0x80) {
+				appendByte(codePoint);
+			} else if(codePoint < 0x800) {
+				appendByte(0xC0 | (codePoint >> 6));
+				appendByte(0x80 | (codePoint & 0x3F));
+			} else if(codePoint < 0x10000) {
+				appendByte(0xE0 | (codePoint >> 12));
+				appendByte(0x80 | ((codePoint >> 6) & 0x3F));
+				appendByte(0x80 | (codePoint & 0x3F));
+			} else {
+				appendByte(0xF0 | (codePoint >> 18));
+				appendByte(0x80 | ((codePoint >> 12) & 0x3F));
+				appendByte(0x80 | ((codePoint >> 6) & 0x3F));
+				appendByte(0x80 | (codePoint & 0x3F));
+			}
+			runStart = i + 1;
+		}
+		path.append(value, runStart, value.length());
+	}
+	
+	private void appendByte(int b) {
+		path.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+	}
+	
+	/** Returns whether the given character can be in a query value without being encoded. The colon is kept as is, since
+	 * it is allowed in queries and appears in every time parameter.
+	 */
+	private static boolean isUnreserved(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+				|| c == '-' || c == '_' || c == '.' || c == '~' || c == ':';
 	}
 	
 	void setContentType(String contentType) {
@@ -84,23 +158,64 @@ class Request {
 
 	void setApiServer(String apiServer) {
 		this.apiServer = apiServer;
+		url = null;
 	}
 	
 	void setAccessToken(String accessToken) {
 		this.accessToken = accessToken;
 	}
 	
-	HttpURLConnection getConnection() throws IOException {
-		String URL;
+	String getAccessToken() {
+		return accessToken;
+	}
+	
+	/** Returns the path of the request, including the parameters, without the API server. */
+	String getPath() {
+		if(pathString == null) {
+			pathString = path.toString();
+		}
+		return pathString;
+	}
+	
+	/** Returns the request method (<b>GET</b> or <b>POST</b>).
+	 * @return The request method.
+	 */
+	public String getRequestMethod() {
+		return requestMethod;
+	}
+	
+	/** Returns the full URL of the request, including the parameters.
+	 * @return The full URL of the request.
+	 */
+	public String getUrl() {
+		if(url == null) {
+			url = (apiServer != null)
+					? new StringBuilder(apiServer.length() + path.length()).append(apiServer).append(path).toString()
+					: getPath();
+		}
+		return url;
+	}
+	
+	/** Returns the request headers, including the <b>Authorization</b> header if the request has an access token.
+	 * @return The request headers.
+	 */
+	public Map<String, String> getHeaders() {
+		Map<String, String> headers = new LinkedHashMap<>();
+		
+		if (accessToken != null) {
+			headers.put("Authorization", "Bearer " + accessToken);
+		}
 		
-		if(apiServer != null) {
-			URL = apiServer + path;
-		} else {
-			URL = path;
+		if(contentType != null) {
+			headers.put("Content-Type", contentType);
 		}
 		
+		return headers;
+	}
+	
+	HttpURLConnection getConnection() throws IOException {
 		HttpURLConnection connection = 
-				(HttpURLConnection) new URL(URL).openConnection();
+				(HttpURLConnection) new URL(getUrl()).openConnection();
 		
 		if (accessToken != null) {
             connection.setRequestProperty("Authorization", "Bearer " + accessToken);
@@ -118,7 +233,7 @@ class Request {
 	
 	@Override
 	public String toString() {
-		return requestMethod + " " + (apiServer != null ? apiServer : "") + path;
+		return requestMethod + " " + getUrl();
 	}
 	
 		
@@ -0,0 +1,43 @@
+package com.jquestrade_room;
+
+/** Receives the stages of every request sent by a {@link Questrade} object, for tracing, logging or detecting slow requests.
+ * Added using {@link Questrade#addRequestInterceptor(RequestInterceptor)}. Every method does nothing by default, so only the
+ * stages of interest need to be overridden.<br><br>
+ * The methods are called on the thread that sends the request, in the order the interceptors were added, so they should return quickly.
+ * An exception thrown by an interceptor fails the request. A request retried after its access token expired goes through every stage again.<br><br>
+ * Example:
+ * <pre>{@code q.addRequestInterceptor(new RequestInterceptor() {
+ * 	public void afterDecode(Request request, RequestTiming timing) {
+ * 		if(timing.getTotalNanos() > 500_000_000) {
+ * 			log.warn("Slow request: " + request + " " + timing);
+ * 		}
+ * 	}
+ * });}</pre>
+ */
+public interface RequestInterceptor {
+
+	/** Called before the request is sent.
+	 * @param request The request.
+	 */
+	default void beforeSend(Request request) {}
+
+	/** Called once the status code and headers of the response were received, before its body is read.
+	 * @param request The request.
+	 * @param timing The timing of the request so far. Only {@link RequestTiming#getStatusCode()} and
+	 * {@link RequestTiming#getHeadersNanos()} are set.
+	 */
+	default void afterHeaders(Request request, RequestTiming timing) {}
+
+	/** Called once the body of the response was read, whether the request succeeded or not.
+	 * Since successful responses are decoded while they are read, this is called right before {@link #afterDecode(Request, RequestTiming)} for them.
+	 * @param request The request.
+	 * @param timing The timing of the request so far. Everything but {@link RequestTiming#getDecodeNanos()} is set.
+	 */
+	default void afterBodyRead(Request request, RequestTiming timing) {}
+
+	/** Called once the body of a successful response was decoded. Not called for failed requests.
+	 * @param request The request.
+	 * @param timing The complete timing of the request.
+	 */
+	default void afterDecode(Request request, RequestTiming timing) {}
+}
@@ -0,0 +1,165 @@
+package com.jquestrade_room;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Records the requests made by a {@link Questrade} object, per endpoint: how many were made, how many failed and with which
+ * error code, their latencies, how many bytes were received, and how many were retried. Also counts the access token refreshes.<br><br>
+ * Endpoints are the request paths without the parameters, with every ID replaced by {@code :id}, so that e.g. the candles of
+ * every symbol are recorded together under {@code v1/markets/candles/:id}.<br><br>
+ * Example:
+ * <pre>{@code RequestMetrics metrics = new RequestMetrics();
+ * q.setRequestMetrics(metrics);
+ * ...
+ * for(EndpointMetrics endpoint : metrics.getEndpoints().values()) {
+ * 	System.out.println(endpoint);
+ * }}</pre>
+ */
+public class RequestMetrics {
+
+	/** Notified after every request, for exporting the metrics elsewhere as they are recorded. */
+	@FunctionalInterface
+	public interface Listener {
+
+		/** Called after a request was completed or failed. Called on the thread that made the request, so it should return quickly.
+		 * @param endpoint The endpoint. (Eg: {@code v1/markets/quotes})
+		 * @param statusCode The HTTP status code, or 0 if no response was received.
+		 * @param latencyNanos The time from sending the request until the response was read and decoded, in nanoseconds.
+		 * @param bytesReceived The size of the response body, in bytes.
+		 */
+		void onRequest(String endpoint, int statusCode, long latencyNanos, long bytesReceived);
+	}
+
+	private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+	private final AtomicLong tokenRefreshes = new AtomicLong();
+
+	/** Adds a listener that is notified after every request.
+	 * @param listener The listener to add.
+	 * @return A reference to the calling object, for optional method chaining.
+	 */
+	public RequestMetrics addListener(Listener listener) {
+		if(listener == null) {
+			throw new ArgumentException("listener argument cannot be null");
+		}
+		listeners.add(listener);
+		return this;
+	}
+
+	/** Removes a listener added using {@link #addListener(Listener)}.
+	 * @param listener The listener to remove.
+	 */
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/** Returns the metrics of every endpoint that was requested.
+	 * @return The metrics, by endpoint, in alphabetical order.
+	 */
+	public Map<String, EndpointMetrics> getEndpoints() {
+		return new TreeMap<>(endpoints);
+	}
+
+	/** Returns the metrics of the given endpoint.
+	 * @param endpoint The endpoint, with every ID replaced by {@code :id}. (Eg: {@code v1/accounts/:id/orders})
+	 * @return The metrics of the endpoint, or {@code null} if it wasn't requested.
+	 */
+	public EndpointMetrics getEndpoint(String endpoint) {
+		return endpoints.get(endpoint);
+	}
+
+	/** Returns how many times the access token was refreshed, whether because it expired or ahead of time.
+	 * @return The number of access token refreshes.
+	 */
+	public long getTokenRefreshCount() {
+		return tokenRefreshes.get();
+	}
+
+	/** Forgets every recorded request. */
+	public void reset() {
+		endpoints.clear();
+		tokenRefreshes.set(0);
+	}
+
+	void recordRequest(String path, int statusCode, long latencyNanos, long bytesReceived) {
+		String endpoint = normalize(path);
+		getOrCreate(endpoint).recordRequest(latencyNanos, bytesReceived);
+		for(Listener listener : listeners) {
+			listener.onRequest(endpoint, statusCode, latencyNanos, bytesReceived);
+		}
+	}
+
+	void recordError(String path, int code) {
+		getOrCreate(normalize(path)).recordError(code);
+	}
+
+	void recordRetry(String path) {
+		getOrCreate(normalize(path)).recordRetry();
+	}
+
+	void recordTokenRefresh() {
+		tokenRefreshes.incrementAndGet();
+	}
+
+	private EndpointMetrics getOrCreate(String endpoint) {
+		EndpointMetrics metrics = endpoints.get(endpoint);
+		if(metrics == null) {
+			EndpointMetrics created = new EndpointMetrics(endpoint);
+			metrics = endpoints.putIfAbsent(endpoint, created);
+			if(metrics == null) {
+				metrics = created;
+			}
+		}
+		return metrics;
+	}
+
+	/** Returns the endpoint of the given request path or URL: the path without the scheme, host and parameters,
+	 * with every all-digit segment replaced by {@code :id}. (Eg: {@code v1/accounts/26598145/orders?ids=1} becomes {@code v1/accounts/:id/orders})
+	 */
+	static String normalize(String path) {
+		int start = path.indexOf("://");
+		if(start != -1) {
+			start = path.indexOf('/', start + 3);
+			start = (start == -1) ? path.length() : start + 1;
+		} else {
+			start = 0;
+		}
+		int end = path.indexOf('?', start);
+		if(end == -1) {
+			end = path.length();
+		}
+
+		StringBuilder endpoint = new StringBuilder(end - start);
+		int segmentStart = start;
+		while(segmentStart <= end) {
+			int segmentEnd = path.indexOf('/', segmentStart);
+			if(segmentEnd == -1 || segmentEnd > end) {
+				segmentEnd = end;
+			}
+			if(segmentStart > start) {
+				endpoint.append('/');
+			}
+			endpoint.append(isId(path, segmentStart, segmentEnd) ? ":id" : path.substring(segmentStart, segmentEnd));
+			segmentStart = segmentEnd + 1;
+		}
+		return endpoint.toString();
+	}
+
+	private static boolean isId(String path, int start, int end) {
+		if(start == end) {
+			return false;
+		}
+		for(int i = start; i < end; i++) {
+			if(!Character.isDigit(path.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
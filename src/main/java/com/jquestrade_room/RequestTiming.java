@@ -0,0 +1,68 @@
+package com.jquestrade_room;
+
+/** The timing of one request, passed to each {@link RequestInterceptor}. Separates the time spent waiting on the network
+ * from the time spent decoding the response: since successful responses are decoded while they are read, the time spent blocked
+ * reading the body is counted as body read time, and the rest of the decoding as decode time.
+ */
+public class RequestTiming {
+
+	int statusCode;
+
+	long headersNanos;
+
+	long bodyReadNanos;
+
+	long decodeNanos;
+
+	long bytesReceived;
+
+	RequestTiming() {}
+
+	/** Returns the HTTP status code of the response.
+	 * @return The status code. (Eg: 200)
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/** Returns the time from sending the request until the status code and headers of the response were received.
+	 * @return The time in nanoseconds.
+	 */
+	public long getHeadersNanos() {
+		return headersNanos;
+	}
+
+	/** Returns the time spent reading the body of the response, not including the time spent decoding it.
+	 * @return The time in nanoseconds.
+	 */
+	public long getBodyReadNanos() {
+		return bodyReadNanos;
+	}
+
+	/** Returns the time spent decoding the body of the response, not including the time spent waiting for it to be read.
+	 * @return The time in nanoseconds, or 0 if the request failed.
+	 */
+	public long getDecodeNanos() {
+		return decodeNanos;
+	}
+
+	/** Returns the total time of the request: the sum of the headers, body read and decode times.
+	 * @return The time in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return headersNanos + bodyReadNanos + decodeNanos;
+	}
+
+	/** Returns the size of the body of the response.
+	 * @return The size in bytes.
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	@Override
+	public String toString() {
+		return statusCode + " in " + getTotalNanos() / 1000 + " us (headers " + headersNanos / 1000 + " us, body read "
+				+ bodyReadNanos / 1000 + " us, decode " + decodeNanos / 1000 + " us), " + bytesReceived + " bytes";
+	}
+}
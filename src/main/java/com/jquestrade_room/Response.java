@@ -0,0 +1,71 @@
+package com.jquestrade_room;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** Represents the response to a {@link Request}, as returned by a {@link Transport}. 
+ * Closing the response releases the connection it was read from.
+ */
+public class Response implements Closeable {
+	
+	private final int statusCode;
+	
+	private final Map<String, List<String>> headers;
+	
+	private final InputStream body;
+	
+	/** Creates a response.
+	 * @param statusCode The HTTP status code.
+	 * @param headers The response headers. Can be {@code null}.
+	 * @param body The response body, which may be the error body if the status code is not successful. Can be {@code null}.
+	 */
+	public Response(int statusCode, Map<String, List<String>> headers, InputStream body) {
+		this.statusCode = statusCode;
+		this.headers = (headers != null) ? headers : Collections.<String, List<String>>emptyMap();
+		this.body = (body != null) ? body : new ByteArrayInputStream(new byte[0]);
+	}
+	
+	/** Returns the HTTP status code.
+	 * @return The HTTP status code.
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+	
+	/** Returns whether the status code is in the 200s.
+	 * @return Whether the request was successful.
+	 */
+	public boolean isSuccessful() {
+		return statusCode >= 200 && statusCode <= 299;
+	}
+	
+	/** Returns the first value of the given header, ignoring case.
+	 * @param name The name of the header.
+	 * @return The first value of the header, or {@code null} if the response doesn't contain it.
+	 */
+	public String getHeader(String name) {
+		for(Map.Entry<String, List<String>> header : headers.entrySet()) {
+			if(name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+				return header.getValue().get(0);
+			}
+		}
+		return null;
+	}
+	
+	/** Returns the response body. This is the error body if the request was not successful.
+	 * @return The response body. Never {@code null}.
+	 */
+	public InputStream getBody() {
+		return body;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		body.close();
+	}
+}
@@ -0,0 +1,240 @@
+package com.jquestrade_room;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Tracks how many snap quotes have been retrieved from each market, against the market's {@link Market#getSnapQuotesLimit()}.<br><br>
+ * Users without a real-time data package are limited to a number of snap quotes per market. Once the limit is reached,
+ * the API doesn't refuse quote requests, but silently returns delayed quotes instead (see {@link Quote#isDelayed()}).
+ * A budget set using {@link Questrade#setSnapQuoteBudget(SnapQuoteBudget)} counts every quote requested through
+ * {@link Questrade#getQuote(int[])}, and depending on its {@link Policy}, keeps requesting quotes past the limit,
+ * refuses such requests, or leaves the symbols of exhausted markets out of them.<br><br>
+ * The API doesn't report how many snap quotes were used, so they are counted from the quotes requested since the budget
+ * was created or {@link #reset()}. Receiving a delayed quote marks its market as exhausted.<br><br>
+ * The market of each symbol is its {@link SymbolInfo#getListingExchange()}. The {@code Questrade} object looks up the symbols
+ * whose market isn't known yet, so setting a {@link SymbolInfoCache} avoids requesting them again.<br><br>
+ * Example: {@code q.setSnapQuoteBudget(new SnapQuoteBudget(q.getMarkets(), SnapQuoteBudget.Policy.Refuse));}
+ */
+public class SnapQuoteBudget {
+
+	/** What to do with a quote request that would exceed the snap quote limit of a market. */
+	public enum Policy {
+		/** Send the request anyway. The API returns delayed quotes for the exhausted markets. */
+		Allow,
+		/** Throw a {@link SnapQuoteLimitException} instead of sending the request. */
+		Refuse,
+		/** Leave the symbols of exhausted markets out of the request, and out of the returned quotes. */
+		Omit;
+	}
+
+	/** The snap quote limit of a market and how much of it was used. */
+	private static class Usage {
+
+		private final int limit;
+
+		private int used = 0;
+
+		private int delayed = 0;
+
+		private Usage(int limit) {
+			this.limit = limit;
+		}
+
+		private int getRemaining() {
+			return Math.max(limit - used, 0);
+		}
+	}
+
+	private final Policy policy;
+
+	/** The usage of each market, by market name. */
+	private final Map<String, Usage> usages = new HashMap<>();
+
+	/** The market of each symbol, by symbol ID. */
+	private final Map<Integer, String> markets = new HashMap<>();
+
+	/** Creates a budget with the {@link Policy#Allow} policy, which only tracks the snap quotes.
+	 * @param markets The markets, whose snap quote limits are used. See {@link Questrade#getMarkets()}.
+	 */
+	public SnapQuoteBudget(Market[] markets) {
+		this(markets, Policy.Allow);
+	}
+
+	/** Creates a budget.
+	 * @param markets The markets, whose snap quote limits are used. See {@link Questrade#getMarkets()}.
+	 * @param policy What to do with a quote request that would exceed the snap quote limit of a market.
+	 */
+	public SnapQuoteBudget(Market[] markets, Policy policy) {
+		if(markets == null) {
+			throw new ArgumentException("markets argument cannot be null");
+		}
+		if(policy == null) {
+			throw new ArgumentException("policy argument cannot be null");
+		}
+		this.policy = policy;
+		for(Market market : markets) {
+			usages.put(market.getName(), new Usage(market.getSnapQuotesLimit()));
+		}
+	}
+
+	/** Returns what is done with a quote request that would exceed the snap quote limit of a market.
+	 * @return The policy.
+	 */
+	public Policy getPolicy() {
+		return policy;
+	}
+
+	/** Returns the snap quote limit of the given market.
+	 * @param market The name of the market. (Eg: {@code "TSX"})
+	 * @return The snap quote limit, or -1 if the market isn't known.
+	 */
+	public synchronized int getLimit(String market) {
+		Usage usage = usages.get(market);
+		return (usage != null) ? usage.limit : -1;
+	}
+
+	/** Returns how many snap quotes were retrieved from the given market.
+	 * @param market The name of the market. (Eg: {@code "TSX"})
+	 * @return The number of snap quotes retrieved, or 0 if the market isn't known.
+	 */
+	public synchronized int getUsed(String market) {
+		Usage usage = usages.get(market);
+		return (usage != null) ? usage.used : 0;
+	}
+
+	/** Returns how many more snap quotes can be retrieved from the given market before its quotes become delayed.
+	 * @param market The name of the market. (Eg: {@code "TSX"})
+	 * @return The number of snap quotes left, or {@link Integer#MAX_VALUE} if the market isn't known.
+	 */
+	public synchronized int getRemaining(String market) {
+		Usage usage = usages.get(market);
+		return (usage != null) ? usage.getRemaining() : Integer.MAX_VALUE;
+	}
+
+	/** Returns how many delayed quotes were received from the given market.
+	 * @param market The name of the market. (Eg: {@code "TSX"})
+	 * @return The number of delayed quotes.
+	 */
+	public synchronized int getDelayedCount(String market) {
+		Usage usage = usages.get(market);
+		return (usage != null) ? usage.delayed : 0;
+	}
+
+	/** Returns the snap quotes retrieved from every known market.
+	 * @return The number of snap quotes retrieved, by market name.
+	 */
+	public synchronized Map<String, Integer> getUsage() {
+		Map<String, Integer> usage = new LinkedHashMap<>();
+		for(Map.Entry<String, Usage> entry : usages.entrySet()) {
+			usage.put(entry.getKey(), entry.getValue().used);
+		}
+		return usage;
+	}
+
+	/** Returns the market of the given symbol.
+	 * @param symbolId The internal symbol identifier.
+	 * @return The name of the market, or {@code null} if it isn't known yet.
+	 */
+	public synchronized String getMarket(int symbolId) {
+		return markets.get(symbolId);
+	}
+
+	/** Records the market of each of the given symbols, so that their quotes are counted against it.
+	 * @param symbolInfos The symbols. See {@link Questrade#getSymbol(int[])}.
+	 */
+	public synchronized void addSymbols(SymbolInfo[] symbolInfos) {
+		for(SymbolInfo symbolInfo : symbolInfos) {
+			if(symbolInfo != null && symbolInfo.getListingExchange() != null) {
+				markets.put(symbolInfo.getSymbolId(), symbolInfo.getListingExchange());
+			}
+		}
+	}
+
+	/** Forgets every snap quote retrieved so far, e.g. when the limits reset. */
+	public synchronized void reset() {
+		for(Map.Entry<String, Usage> entry : usages.entrySet()) {
+			entry.setValue(new Usage(entry.getValue().limit));
+		}
+	}
+
+	/** Returns the IDs of the given symbols whose market isn't known yet. */
+	synchronized int[] getUnknownSymbols(int[] symbolIds) {
+		List<Integer> unknown = new ArrayList<>();
+		for(int symbolId : symbolIds) {
+			if(!markets.containsKey(symbolId)) {
+				unknown.add(symbolId);
+			}
+		}
+		int[] result = new int[unknown.size()];
+		for(int i = 0; i < result.length; i++) {
+			result[i] = unknown.get(i);
+		}
+		return result;
+	}
+
+	/** Counts a quote request for the given symbols against their markets, applying the policy.
+	 * @return The IDs of the symbols to request. Only differs from the given IDs with the {@link Policy#Omit} policy.
+	 * @throws SnapQuoteLimitException If the policy is {@link Policy#Refuse} and the request would exceed a limit.
+	 */
+	synchronized int[] reserve(int[] symbolIds) {
+		Map<Usage, Integer> needed = new HashMap<>();
+		int[] allowed = new int[symbolIds.length];
+		int allowedCount = 0;
+
+		for(int symbolId : symbolIds) {
+			Usage usage = usages.get(markets.get(symbolId));
+			if(usage == null) {
+				allowed[allowedCount++] = symbolId;
+				continue;
+			}
+
+			int count = needed.containsKey(usage) ? needed.get(usage) : 0;
+			if(count >= usage.getRemaining()) {
+				if(policy == Policy.Refuse) {
+					throw new SnapQuoteLimitException("The snap quote limit of the " + markets.get(symbolId)
+							+ " market (" + usage.limit + ") would be exceeded.");
+				}
+				if(policy == Policy.Omit) {
+					continue;
+				}
+			}
+			needed.put(usage, count + 1);
+			allowed[allowedCount++] = symbolId;
+		}
+
+		for(Map.Entry<Usage, Integer> entry : needed.entrySet()) {
+			entry.getKey().used += entry.getValue();
+		}
+		return (allowedCount == symbolIds.length) ? symbolIds : Arrays.copyOf(allowed, allowedCount);
+	}
+
+	/** Gives back the reservation made by {@link #reserve(int[])} for the given symbols, after their quote request failed.
+	 * @param symbolIds The IDs returned by {@code reserve}.
+	 */
+	synchronized void release(int[] symbolIds) {
+		for(int symbolId : symbolIds) {
+			Usage usage = usages.get(markets.get(symbolId));
+			if(usage != null) {
+				usage.used = Math.max(usage.used - 1, 0); // The budget may have been reset since the reservation
+			}
+		}
+	}
+
+	/** Records the delayed quotes among the given quotes. A delayed quote means that its market's limit was reached. */
+	synchronized void record(Quote[] quotes) {
+		for(Quote quote : quotes) {
+			if(!quote.isDelayed()) {
+				continue;
+			}
+			Usage usage = usages.get(markets.get((int) quote.getSymbolId()));
+			if(usage != null) {
+				usage.delayed++;
+				usage.used = Math.max(usage.used, usage.limit);
+			}
+		}
+	}
+}
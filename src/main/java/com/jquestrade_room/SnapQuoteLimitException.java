@@ -0,0 +1,11 @@
+package com.jquestrade_room;
+
+/** Thrown when a quote request would exceed the snap quote limit of a market, and the {@link SnapQuoteBudget}
+ * has the {@link SnapQuoteBudget.Policy#Refuse} policy.
+ */
+@SuppressWarnings("serial")
+public class SnapQuoteLimitException extends RuntimeException {
+	public SnapQuoteLimitException(String reason) {
+		super(reason);
+	}
+}
@@ -0,0 +1,59 @@
+package com.jquestrade_room;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/** Represents the balances, positions, orders and executions of one or more accounts, retrieved concurrently
+ * using {@link Questrade#getSnapshot(String[], ZonedDateTime, ZonedDateTime)}.
+ */
+public class Snapshot {
+	
+	private final Map<String, AccountSnapshot> accountSnapshots;
+	private final ZonedDateTime startTime;
+	private final ZonedDateTime endTime;
+	private final ZonedDateTime timeOfCreation = ZonedDateTime.now();
+	
+	Snapshot(Map<String, AccountSnapshot> accountSnapshots, ZonedDateTime startTime, ZonedDateTime endTime) {
+		this.accountSnapshots = Collections.unmodifiableMap(accountSnapshots);
+		this.startTime = startTime;
+		this.endTime = endTime;
+	}
+	
+	/** Returns the time that this object was created.
+	 * @return The time that this object was created.
+	 */
+	public ZonedDateTime timeOfCreation() {
+		return timeOfCreation;
+	}
+	
+	/** Returns the beginning of the time period that the orders and executions were retrieved for.
+	 * @return The beginning of the time period.
+	 */
+	public ZonedDateTime getStartTime() {
+		return startTime;
+	}
+	
+	/** Returns the end of the time period that the orders and executions were retrieved for.
+	 * @return The end of the time period.
+	 */
+	public ZonedDateTime getEndTime() {
+		return endTime;
+	}
+	
+	/** Returns the account numbers in this snapshot, in the order they were requested.
+	 * @return The account numbers in this snapshot.
+	 */
+	public Set<String> getAccountNumbers() {
+		return accountSnapshots.keySet();
+	}
+	
+	/** Returns the snapshot of the given account.
+	 * @param accountNumber The account number.
+	 * @return The snapshot of the account, or {@code null} if the account isn't in this snapshot.
+	 */
+	public AccountSnapshot getAccountSnapshot(String accountNumber) {
+		return accountSnapshots.get(accountNumber);
+	}
+}
@@ -32,6 +32,9 @@ public class Symbol {
 	
 	
 	
+	// Used by Gson, so that timeOfCreation is initialized
+	private Symbol() {}
+	
 	public Symbol(String symbol, int symbolId, String description, String securityType, String listingExchange,
 			boolean isTradable, boolean isQuotable, String currency, ZonedDateTime timeOfCreation) {
 		this.symbol = symbol;
@@ -52,6 +55,11 @@ public class Symbol {
 		return timeOfCreation;
 	}
 	
+	/** Returns the time that this object was created. Used by Room, see {@link #timeOfCreation()}. */
+	ZonedDateTime getTimeOfCreation() {
+		return timeOfCreation;
+	}
+	
 	/** Returns the stock symbol/ticker.
 	 * @return The stock symbol/ticker.
 	 */
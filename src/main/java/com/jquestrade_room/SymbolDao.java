@@ -0,0 +1,54 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+/** Room DAO for the {@code Symbols} table, which stores {@link Symbol} objects.
+ * Get one using {@link QuestradeDatabase#symbolDao()}.
+ */
+@Dao
+public interface SymbolDao {
+	
+	/** Inserts the given symbols in a single transaction, replacing any symbols with the same primary key.
+	 * @param symbols The symbols to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(Symbol... symbols);
+	
+	/** Inserts the given symbols in a single transaction, replacing any symbols with the same primary key.
+	 * @param symbols The symbols to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<Symbol> symbols);
+	
+	/** Returns every stored symbol.
+	 * @return Every stored symbol.
+	 */
+	@Query("SELECT * FROM Symbols")
+	List<Symbol> getAll();
+	
+	/** Deletes every stored symbol. */
+	@Query("DELETE FROM Symbols")
+	void deleteAll();
+	
+	/** Returns the symbol with the given symbol/ticker.
+	 * @param symbol The symbol/ticker.
+	 * @return The symbol, or {@code null} if it isn't stored.
+	 */
+	@Query("SELECT * FROM Symbols WHERE symbol = :symbol")
+	Symbol get(String symbol);
+	
+	/** Replaces every stored symbol with the given symbols, in a single transaction.
+	 * @param symbols The symbols to store.
+	 */
+	@Transaction
+	default void replaceAll(List<Symbol> symbols) {
+		deleteAll();
+		insert(symbols);
+	}
+}
@@ -15,6 +15,7 @@ import androidx.room.Entity;
 )
 public class SymbolInfo {
 	
+	@NonNull
 	private String symbol;
 	private int symbolId;
 	private double prevDayClosePrice;
@@ -48,9 +49,14 @@ public class SymbolInfo {
 	private MinTick[] minTicks;
 	
 	/** Represents a min tick. */
-	public class MinTick {
+	public static class MinTick {
 		private MinTick() {}
 		
+		MinTick(double pivot, double minTick) {
+			this.pivot = pivot;
+			this.minTick = minTick;
+		}
+		
 		private double pivot;
 		private double minTick;
 		
@@ -75,6 +81,9 @@ public class SymbolInfo {
 	
 	
 	
+	// Used by Gson, so that timeOfCreation is initialized
+	private SymbolInfo() {}
+	
 	public SymbolInfo(String symbol, int symbolId, double prevDayClosePrice, double highPrice52, double lowPrice52,
 			long averageVol3Months, long averageVol20Days, long outstandingShares, double eps, double pe,
 			double dividend, double yield, String exDate, long marketCap, int tradeUnit, String optionType,
@@ -130,6 +139,11 @@ public class SymbolInfo {
 		return timeOfCreation;
 	}
 	
+	/** Returns the time that this object was created. Used by Room, see {@link #timeOfCreation()}. */
+	ZonedDateTime getTimeOfCreation() {
+		return timeOfCreation;
+	}
+	
 	/** Returns the stock symbol/ticker.
 	 * @return The stock symbol/ticker.
 	 */
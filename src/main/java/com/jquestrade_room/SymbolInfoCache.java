@@ -0,0 +1,188 @@
+package com.jquestrade_room;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** An in-memory cache of {@link SymbolInfo} objects, keyed by both symbol ID and symbol name. Symbol information rarely changes,
+ * so once a {@code Questrade} object is given a cache using {@link Questrade#setSymbolInfoCache(SymbolInfoCache)}, its
+ * {@code getSymbol} methods only request the symbols that aren't cached yet, all in a single request.<br><br>
+ * Entries expire after a time-to-live. When the cache is full, the least recently used entry is evicted.
+ * This class is thread-safe.
+ */
+public class SymbolInfoCache {
+
+	/** The default time-to-live of an entry, in seconds (1 day). */
+	public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.DAYS.toSeconds(1);
+
+	/** The default maximum number of entries. */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	/** A cached symbol and when it expires. */
+	private static class CacheEntry {
+		private final SymbolInfo symbolInfo;
+		private final long expiryTime;
+
+		private CacheEntry(SymbolInfo symbolInfo, long expiryTime) {
+			this.symbolInfo = symbolInfo;
+			this.expiryTime = expiryTime;
+		}
+	}
+
+	private final long timeToLiveNanos;
+
+	private final int maxSize;
+
+	/** The entries by symbol ID, in access order (least recently used first). */
+	private final LinkedHashMap<Integer, CacheEntry> entries;
+
+	/** The symbol ID of every cached symbol name, in upper case. */
+	private final Map<String, Integer> symbolIds = new HashMap<>();
+
+	private long hits = 0;
+
+	private long misses = 0;
+
+	private long evictions = 0;
+
+	/** Creates a cache with a time-to-live of {@link #DEFAULT_TIME_TO_LIVE} and a maximum size of {@link #DEFAULT_MAX_SIZE}. */
+	public SymbolInfoCache() {
+		this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_SIZE);
+	}
+
+	/** Creates a cache.
+	 * @param timeToLive How many seconds an entry stays in the cache.
+	 * @param maxSize The maximum number of entries.
+	 */
+	public SymbolInfoCache(long timeToLive, int maxSize) {
+		if(timeToLive < 0) {
+			throw new ArgumentException("timeToLive argument cannot be less than 0");
+		}
+		if(maxSize < 1) {
+			throw new ArgumentException("maxSize argument cannot be less than 1");
+		}
+
+		this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLive);
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Integer, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+				if(size() > SymbolInfoCache.this.maxSize) {
+					removeName(eldest.getValue().symbolInfo, eldest.getKey());
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/** Returns the cached information for the given symbol ID.
+	 * @param symbolId The internal unique symbol identifier.
+	 * @return The cached {@code SymbolInfo}, or {@code null} if it isn't cached or has expired.
+	 */
+	public synchronized SymbolInfo get(int symbolId) {
+		CacheEntry entry = entries.get(symbolId);
+		if(entry != null && entry.expiryTime - System.nanoTime() < 0) {
+			entries.remove(symbolId);
+			removeName(entry.symbolInfo, symbolId);
+			evictions++;
+			entry = null;
+		}
+
+		if(entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.symbolInfo;
+	}
+
+	/** Returns the cached information for the given symbol name.
+	 * @param symbol The name of the symbol, ignoring case. (Eg: "MSFT")
+	 * @return The cached {@code SymbolInfo}, or {@code null} if it isn't cached or has expired.
+	 */
+	public synchronized SymbolInfo get(String symbol) {
+		Integer symbolId = symbolIds.get(symbol.toUpperCase(Locale.ROOT));
+		if(symbolId == null) {
+			misses++;
+			return null;
+		}
+		return get(symbolId);
+	}
+
+	/** Adds the given symbol information to the cache, replacing any older information about the same symbol.
+	 * @param symbolInfo The symbol information to cache.
+	 */
+	public synchronized void put(SymbolInfo symbolInfo) {
+		CacheEntry previous = entries.put(symbolInfo.getSymbolId(), new CacheEntry(symbolInfo, System.nanoTime() + timeToLiveNanos));
+		if(previous != null) {
+			removeName(previous.symbolInfo, symbolInfo.getSymbolId());
+		}
+		if(symbolInfo.getSymbol() != null) {
+			symbolIds.put(symbolInfo.getSymbol().toUpperCase(Locale.ROOT), symbolInfo.getSymbolId());
+		}
+	}
+
+	/** Removes every entry from the cache. Doesn't reset the counters. */
+	public synchronized void clear() {
+		entries.clear();
+		symbolIds.clear();
+	}
+
+	/** Removes every expired entry from the cache. Expired entries are otherwise removed when they are next looked up,
+	 * or when they become the least recently used entry of a full cache.
+	 */
+	public synchronized void removeExpired() {
+		long now = System.nanoTime();
+		Iterator<Map.Entry<Integer, CacheEntry>> iterator = entries.entrySet().iterator();
+		while(iterator.hasNext()) {
+			Map.Entry<Integer, CacheEntry> entry = iterator.next();
+			if(entry.getValue().expiryTime - now < 0) {
+				iterator.remove();
+				removeName(entry.getValue().symbolInfo, entry.getKey());
+				evictions++;
+			}
+		}
+	}
+
+	/** Returns the number of entries in the cache, including expired entries that haven't been removed yet.
+	 * @return The number of entries in the cache.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/** Returns how many lookups found their symbol in the cache.
+	 * @return The number of cache hits.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/** Returns how many lookups didn't find their symbol in the cache, or found it expired.
+	 * @return The number of cache misses.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/** Returns how many entries were removed because they expired or because the cache was full.
+	 * @return The number of evictions.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/** Removes the name index entry of the given symbol, if it still points at the given symbol ID. */
+	private void removeName(SymbolInfo symbolInfo, int symbolId) {
+		if(symbolInfo.getSymbol() != null) {
+			symbolIds.remove(symbolInfo.getSymbol().toUpperCase(Locale.ROOT), symbolId);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.jquestrade_room;
+
+import java.util.List;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/** Room DAO for the {@code SymbolInfos} table, which stores {@link SymbolInfo} objects.
+ * Get one using {@link QuestradeDatabase#symbolInfoDao()}.
+ */
+@Dao
+public interface SymbolInfoDao {
+	
+	/** Inserts the given {@code SymbolInfo} objects in a single transaction, replacing any {@code SymbolInfo} with the same primary key.
+	 * @param symbolInfos The {@code SymbolInfo} objects to insert, e.g. straight from an API response.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(SymbolInfo... symbolInfos);
+	
+	/** Inserts the given {@code SymbolInfo} objects in a single transaction, replacing any {@code SymbolInfo} with the same primary key.
+	 * @param symbolInfos The {@code SymbolInfo} objects to insert.
+	 */
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void insert(List<SymbolInfo> symbolInfos);
+	
+	/** Returns every stored {@code SymbolInfo}.
+	 * @return Every stored symbol info.
+	 */
+	@Query("SELECT * FROM SymbolInfos")
+	List<SymbolInfo> getAll();
+	
+	/** Deletes every stored {@code SymbolInfo}. */
+	@Query("DELETE FROM SymbolInfos")
+	void deleteAll();
+	
+	/** Returns the stored information about the given symbol.
+	 * @param symbol The symbol/ticker.
+	 * @return The information about the symbol.
+	 */
+	@Query("SELECT * FROM SymbolInfos WHERE symbol = :symbol")
+	List<SymbolInfo> getBySymbol(String symbol);
+}
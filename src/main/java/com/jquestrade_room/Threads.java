@@ -0,0 +1,90 @@
+package com.jquestrade_room;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Helper methods for running API requests concurrently. */
+final class Threads {
+
+	private Threads() {}
+
+	/** Returns a thread factory that creates daemon threads, so they don't keep the application running.
+	 * @param name The prefix of the thread names.
+	 */
+	static ThreadFactory daemonThreadFactory(String name) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/** Returns an executor that starts a new virtual thread for each task. Virtual threads only exist on Java 21+,
+	 * so on older JVMs (and on Android) this falls back to a cached pool of daemon threads.
+	 * The executor should be shut down when it is no longer needed.
+	 * @param name The prefix of the thread names, if virtual threads aren't available.
+	 */
+	static ExecutorService newVirtualThreadExecutor(String name) {
+		ExecutorService executor = tryNewVirtualThreadExecutor();
+		return (executor != null) ? executor : Executors.newCachedThreadPool(daemonThreadFactory(name));
+	}
+
+	/** Returns an executor that starts a new virtual thread for each task. On JVMs without virtual threads, this falls back to
+	 * a pool of at most {@code maxThreads} daemon threads, and further tasks wait in a queue until a thread is free.
+	 * @param name The prefix of the thread names, if virtual threads aren't available.
+	 * @param maxThreads The maximum number of threads, if virtual threads aren't available.
+	 */
+	static ExecutorService newVirtualThreadExecutor(String name, int maxThreads) {
+		ExecutorService executor = tryNewVirtualThreadExecutor();
+		if(executor != null) {
+			return executor;
+		}
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), daemonThreadFactory(name));
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+
+	/** Returns a virtual thread per task executor, or {@code null} if virtual threads aren't available. */
+	private static ExecutorService tryNewVirtualThreadExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/** Waits for the given future, rethrowing the exception that the task threw.
+	 * @throws RefreshTokenException If the task threw a {@code RefreshTokenException}.
+	 * @throws CancellationException If the calling thread was interrupted while waiting.
+	 */
+	static <T> T await(Future<T> future) throws RefreshTokenException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while waiting for a request");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof RefreshTokenException) {
+				throw (RefreshTokenException) cause;
+			} else if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if(cause instanceof java.lang.Error) {
+				throw (java.lang.Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+}
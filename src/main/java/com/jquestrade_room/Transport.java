@@ -0,0 +1,18 @@
+package com.jquestrade_room;
+
+import java.io.IOException;
+
+/** Represents the layer that actually sends a {@link Request} over the network. Every API call made by {@link Questrade}
+ * goes through its transport, so a custom implementation can be set using {@link Questrade#setTransport(Transport)}.
+ * By default, a {@link PooledTransport} is used.
+ */
+public interface Transport {
+
+	/** Sends the given request and returns the server's response. The caller must close the returned {@link Response}
+	 * once it is done reading the body, so that the underlying connection can be released.
+	 * @param request The API request that contains the URL, parameters, request method, etc.
+	 * @return The server's response, whether or not the status code indicates success.
+	 * @throws IOException If the request could not be sent or the response could not be read.
+	 */
+	Response send(Request request) throws IOException;
+}